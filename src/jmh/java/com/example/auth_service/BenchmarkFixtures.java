@@ -0,0 +1,92 @@
+package com.example.auth_service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.example.auth_service.entities.users.User;
+import com.example.auth_service.entities.users.UserRole;
+import com.example.auth_service.infra.security.RevokedTokenCache;
+import com.example.auth_service.infra.security.SigningKeyManager;
+import com.example.auth_service.infra.security.TokenEpochCache;
+import com.example.auth_service.repositories.RevokedTokenRepository;
+import com.example.auth_service.services.TokenService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Wires services by hand, the way Spring would, so benchmarks run without an application
+ * context or any external dependency.
+ */
+public final class BenchmarkFixtures {
+
+    public static final String SECRET = "benchmark-secret";
+
+    /**
+     * Shared so that tokens issued by one {@link TokenService} verify with another.
+     */
+    private static final SigningKeyManager SIGNING_KEY_MANAGER = signingKeyManager();
+
+    private BenchmarkFixtures() {
+    }
+
+    public static User user(String id, UserRole role) {
+        User user = new User("user" + id, "user" + id + "@example.com", "$2a$10$benchmarkbenchmarkbenchmarkbenchmarkbenchmarkbench");
+        user.setId(id);
+        user.setRole(role);
+        user.setEnabled(true);
+        return user;
+    }
+
+    public static RevokedTokenCache revokedTokenCache(RevokedTokenRepository revokedTokenRepository) {
+        RevokedTokenCache revokedTokenCache = new RevokedTokenCache(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(revokedTokenCache, "revokedTokenRepository", revokedTokenRepository);
+        ReflectionTestUtils.setField(revokedTokenCache, "maxEntries", 100_000);
+        revokedTokenCache.resync();
+        return revokedTokenCache;
+    }
+
+    public static TokenService tokenService(RevokedTokenCache revokedTokenCache) {
+        TokenService tokenService = new TokenService(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(tokenService, "secret", SECRET);
+        ReflectionTestUtils.setField(tokenService, "acceptHmac", true);
+        ReflectionTestUtils.setField(tokenService, "signingKeyManager", SIGNING_KEY_MANAGER);
+        ReflectionTestUtils.setField(tokenService, "revokedTokenCache", revokedTokenCache);
+        ReflectionTestUtils.setField(tokenService, "tokenEpochCache", tokenEpochCache());
+        return tokenService;
+    }
+
+    private static SigningKeyManager signingKeyManager() {
+        SigningKeyManager signingKeyManager = new SigningKeyManager();
+        ReflectionTestUtils.setField(signingKeyManager, "secret", SECRET);
+        ReflectionTestUtils.setField(signingKeyManager, "algorithm", "ES256");
+        ReflectionTestUtils.setField(signingKeyManager, "rotationIntervalMillis", TimeUnit.DAYS.toMillis(1));
+        ReflectionTestUtils.setField(signingKeyManager, "overlapMillis", TimeUnit.HOURS.toMillis(1));
+        ReflectionTestUtils.setField(signingKeyManager, "tokenLifetimeMillis", TimeUnit.MINUTES.toMillis(15));
+        signingKeyManager.load(List.of(signingKeyManager.generateKey(Instant.now())));
+        return signingKeyManager;
+    }
+
+    /**
+     * An epoch cache that has synced with an empty store, so every user is at epoch 0.
+     */
+    public static TokenEpochCache tokenEpochCache() {
+        TokenEpochCache tokenEpochCache = new TokenEpochCache(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(tokenEpochCache, "synced", true);
+        return tokenEpochCache;
+    }
+
+    public static String expiredToken(User user) {
+        return JWT.create()
+                .withIssuer("auth-api")
+                .withSubject(user.getEmail())
+                .withClaim("role", user.getRole().getRole())
+                .withClaim("id", user.getId())
+                .withExpiresAt(Instant.now().minusSeconds(60))
+                .sign(Algorithm.HMAC256(SECRET));
+    }
+}
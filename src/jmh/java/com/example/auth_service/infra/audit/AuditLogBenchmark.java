@@ -0,0 +1,78 @@
+package com.example.auth_service.infra.audit;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Measures what recording a login adds to the request thread, with the writer appending to real
+ * segment files in a temporary directory. Events dropped because the ring was full are printed
+ * after the run; a non-zero count means the writer could not keep up at that rate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuditLogBenchmark {
+
+    private Path directory;
+    private SimpleMeterRegistry meterRegistry;
+    private AuditLog auditLog;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("audit-benchmark");
+        meterRegistry = new SimpleMeterRegistry();
+        // A few small segments, so a long run does not fill the disk
+        auditLog = new AuditLog(meterRegistry, true, directory.toString(), 16384, 256, 16 << 20, 1000, 4);
+        auditLog.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        auditLog.stop();
+        System.out.printf("%ndropped events: %.0f%n", meterRegistry.counter("auth.audit.dropped").count());
+
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) Files.delete(path);
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void recordLogin() {
+        auditLog.record(AuditEventType.LOGIN, email(), "203.0.113.7");
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void recordLoginContended() {
+        auditLog.record(AuditEventType.LOGIN, email(), "203.0.113.7");
+    }
+
+    private static String email() {
+        return "user" + ThreadLocalRandom.current().nextInt(100_000) + "@example.com";
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.auth_service.infra.ratelimit;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Cost of the per-request rate limit check with many threads, both on a single hot key (every
+ * thread contends on the same CAS) and spread over many keys.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@Fork(1)
+public class RateLimiterBenchmark {
+
+    @Param({ "1", "10000" })
+    private int distinctClients;
+
+    private RateLimiter rateLimiter;
+
+    @Setup
+    public void setUp() {
+        MockEnvironment environment = new MockEnvironment()
+            .withProperty("api.ratelimit.login.per-ip", String.valueOf(Integer.MAX_VALUE / 2))
+            .withProperty("api.ratelimit.login.per-email", String.valueOf(Integer.MAX_VALUE / 2));
+
+        rateLimiter = new RateLimiter(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(rateLimiter, "environment", environment);
+        ReflectionTestUtils.setField(rateLimiter, "enabled", true);
+        ReflectionTestUtils.setField(rateLimiter, "windowMillis", 60_000L);
+        ReflectionTestUtils.setField(rateLimiter, "maxKeys", 1_000_000);
+    }
+
+    @Benchmark
+    public boolean tryAcquire() {
+        int client = ThreadLocalRandom.current().nextInt(distinctClients);
+        return rateLimiter.tryAcquire("login", "10.0.0." + (client & 255), "user" + client + "@example.com");
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.auth_service.infra.security;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.auth_service.BenchmarkFixtures;
+import com.example.auth_service.entities.users.User;
+import com.example.auth_service.entities.users.UserRole;
+import com.example.auth_service.repositories.InMemoryRevokedTokenRepository;
+import com.example.auth_service.repositories.InMemoryUserRepository;
+import com.example.auth_service.repositories.UserRepository;
+import com.example.auth_service.services.TokenService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SecurityFilterBenchmark {
+
+    @Param({ "false", "true" })
+    private boolean claimsOnly;
+
+    private SecurityFilter securityFilter;
+    private MockHttpServletRequest tokenRequest;
+    private String authorizationHeader;
+
+    @Setup
+    public void setUp() {
+        User user = BenchmarkFixtures.user("1", UserRole.USER);
+        UserRepository userRepository = InMemoryUserRepository.create(user);
+        TokenService tokenService = BenchmarkFixtures.tokenService(
+            BenchmarkFixtures.revokedTokenCache(InMemoryRevokedTokenRepository.create())
+        );
+
+        UserStatusCache userStatusCache = new UserStatusCache();
+        ReflectionTestUtils.setField(userStatusCache, "userRepository", userRepository);
+        ReflectionTestUtils.setField(userStatusCache, "ttlMillis", 30_000L);
+        ReflectionTestUtils.setField(userStatusCache, "maxEntries", 100_000);
+
+        UserDetailsCache userDetailsCache = new UserDetailsCache(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(userDetailsCache, "userRepository", userRepository);
+        ReflectionTestUtils.setField(userDetailsCache, "ttlMillis", 60_000L);
+        ReflectionTestUtils.setField(userDetailsCache, "negativeTtlMillis", 5_000L);
+        ReflectionTestUtils.setField(userDetailsCache, "maxEntries", 100_000);
+
+        securityFilter = new SecurityFilter();
+        ReflectionTestUtils.setField(securityFilter, "tokenService", tokenService);
+        ReflectionTestUtils.setField(securityFilter, "userDetailsCache", userDetailsCache);
+        ReflectionTestUtils.setField(securityFilter, "userStatusCache", userStatusCache);
+        ReflectionTestUtils.setField(securityFilter, "claimsOnly", claimsOnly);
+
+        authorizationHeader = "Bearer " + tokenService.generateToken(user);
+        tokenRequest = new MockHttpServletRequest("GET", "/api/resource");
+        tokenRequest.addHeader("Authorization", authorizationHeader);
+    }
+
+    @Benchmark
+    public String recoverToken() {
+        return securityFilter.recoverToken(tokenRequest);
+    }
+
+    @Benchmark
+    public int doFilter() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/resource");
+        request.addHeader("Authorization", authorizationHeader);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        securityFilter.doFilter(request, response, new MockFilterChain());
+        SecurityContextHolder.clearContext();
+        return response.getStatus();
+    }
+}
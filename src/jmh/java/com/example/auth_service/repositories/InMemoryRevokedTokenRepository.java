@@ -0,0 +1,52 @@
+package com.example.auth_service.repositories;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.example.auth_service.infra.security.RevokedTokenCache;
+
+/**
+ * Map-backed {@link RevokedTokenRepository} so revocation lookups can be benchmarked
+ * without Redis.
+ */
+public class InMemoryRevokedTokenRepository extends RevokedTokenRepository {
+
+    private final Map<String, Instant> revoked = new ConcurrentHashMap<>();
+
+    public static RevokedTokenRepository create(String... revokedTokens) {
+        InMemoryRevokedTokenRepository repository = new InMemoryRevokedTokenRepository();
+        for (String token : revokedTokens) {
+            DecodedJWT decodedToken = JWT.decode(token);
+            repository.revoke(RevokedTokenCache.tokenId(decodedToken), decodedToken.getExpiresAtAsInstant());
+        }
+        return repository;
+    }
+
+    @Override
+    public boolean isRevoked(String tokenId) {
+        Instant expiresAt = revoked.get(tokenId);
+        return expiresAt != null && expiresAt.isAfter(Instant.now());
+    }
+
+    @Override
+    public List<Boolean> areRevoked(List<String> tokenIds) {
+        return tokenIds.stream().map(this::isRevoked).toList();
+    }
+
+    @Override
+    public void revoke(String tokenId, Instant expiresAt) {
+        if (expiresAt.isAfter(Instant.now())) revoked.put(tokenId, expiresAt);
+    }
+
+    @Override
+    public Map<Long, Long> findAllFingerprints() {
+        Map<Long, Long> fingerprints = new HashMap<>();
+        revoked.forEach((tokenId, expiresAt) -> fingerprints.put(fingerprint(tokenId), expiresAt.toEpochMilli()));
+        return fingerprints;
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.auth_service.repositories;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.example.auth_service.entities.users.User;
+
+/**
+ * Map-backed {@link UserRepository} that implements the lookups used on the request path so
+ * benchmarks can run without Mongo. Any other repository method throws.
+ */
+public class InMemoryUserRepository implements InvocationHandler {
+
+    private final Map<String, User> usersById = new ConcurrentHashMap<>();
+    private final Map<String, User> usersByEmail = new ConcurrentHashMap<>();
+    private final Map<String, User> usersByName = new ConcurrentHashMap<>();
+
+    public static UserRepository create(User... users) {
+        InMemoryUserRepository handler = new InMemoryUserRepository();
+        for (User user : users) handler.save(user);
+
+        return (UserRepository) Proxy.newProxyInstance(
+            UserRepository.class.getClassLoader(),
+            new Class<?>[] { UserRepository.class },
+            handler
+        );
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        return switch (method.getName()) {
+            case "findByEmail", "findCredentialsByEmail", "findPrincipalByEmail", "findStatusByEmail" ->
+                usersByEmail.get((String) args[0]);
+            case "existsByEmailOrName" -> usersByEmail.containsKey((String) args[0]) || usersByName.containsKey((String) args[1]);
+            case "findByName" -> Optional.ofNullable(usersByName.get((String) args[0]));
+            case "findById" -> Optional.ofNullable(usersById.get((String) args[0]));
+            case "existsById" -> usersById.containsKey((String) args[0]);
+            case "save", "insert" -> save((User) args[0]);
+            case "deleteById" -> delete(usersById.get((String) args[0]));
+            case "count" -> (long) usersById.size();
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "equals" -> proxy == args[0];
+            case "toString" -> "InMemoryUserRepository";
+            default -> throw new UnsupportedOperationException(method.getName());
+        };
+    }
+
+    private User save(User user) {
+        usersById.put(user.getId(), user);
+        usersByEmail.put(user.getEmail(), user);
+        usersByName.put(user.getName(), user);
+        return user;
+    }
+
+    private Object delete(User user) {
+        if (user != null) {
+            usersById.remove(user.getId());
+            usersByEmail.remove(user.getEmail());
+            usersByName.remove(user.getName());
+        }
+        return null;
+    }
+}
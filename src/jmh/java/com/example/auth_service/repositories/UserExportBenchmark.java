@@ -0,0 +1,117 @@
+package com.example.auth_service.repositories;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition.RepositoryFragments;
+
+import com.example.auth_service.entities.users.User;
+import com.example.auth_service.entities.users.dtos.UserSummaryDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+
+/**
+ * Measures a full NDJSON export of the users collection, the way the admin export endpoint writes
+ * it, against datasets of millions of users. Needs a running MongoDB like
+ * {@link UserLookupBenchmark}, and reuses its seeded databases.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgs = { "-Xmx256m" })
+public class UserExportBenchmark {
+
+    @Param({ "1000000", "10000000" })
+    private int users;
+
+    private MongoClient mongoClient;
+    private UserRepository userRepository;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * Reports documents and bytes written per export next to its duration.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Exported {
+        public long documents;
+        public long bytes;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String uri = System.getProperty("benchmark.mongodb.uri", "mongodb://localhost:27017");
+        mongoClient = MongoClients.create(uri);
+
+        MongoTemplate mongoTemplate = new MongoTemplate(mongoClient, "auth_benchmark_" + users);
+        mongoTemplate.indexOps(User.class).ensureIndex(new Index("email", Sort.Direction.ASC).unique());
+        mongoTemplate.indexOps(User.class).ensureIndex(new Index("name", Sort.Direction.ASC).unique());
+        UserLookupBenchmark.seed(mongoTemplate.getCollection("users"), users);
+
+        userRepository = new MongoRepositoryFactory(mongoTemplate).getRepository(
+            UserRepository.class,
+            RepositoryFragments.just(new UserListingRepositoryImpl(mongoTemplate))
+        );
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        mongoClient.close();
+    }
+
+    /**
+     * The heap is capped well below the dataset size, so an export that buffered users would fail.
+     */
+    @Benchmark
+    public void exportAll(Exported exported) throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+
+        try (Stream<User> stream = userRepository.streamAll(null, null)) {
+            Iterator<User> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                out.write(objectMapper.writeValueAsBytes(UserSummaryDTO.of(iterator.next())));
+                out.write('\n');
+                exported.documents++;
+            }
+        }
+        exported.bytes += out.count;
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
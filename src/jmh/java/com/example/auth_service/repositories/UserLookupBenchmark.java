@@ -0,0 +1,121 @@
+package com.example.auth_service.repositories;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.bson.Document;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.repository.core.support.RepositoryComposition.RepositoryFragments;
+
+import com.example.auth_service.entities.users.User;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
+
+/**
+ * Measures the user lookups issued on signup, login and authenticated requests as the users
+ * collection grows. Needs a running MongoDB (-Dbenchmark.mongodb.uri, default localhost); each
+ * dataset size is seeded once into its own database and reused by later runs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserLookupBenchmark {
+
+    private static final int SEED_BATCH_SIZE = 10_000;
+
+    @Param({ "10000", "100000", "1000000", "10000000" })
+    private int users;
+
+    private MongoClient mongoClient;
+    private UserRepository userRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String uri = System.getProperty("benchmark.mongodb.uri", "mongodb://localhost:27017");
+        mongoClient = MongoClients.create(uri);
+
+        MongoTemplate mongoTemplate = new MongoTemplate(mongoClient, "auth_benchmark_" + users);
+        mongoTemplate.indexOps(User.class).ensureIndex(new Index("email", Sort.Direction.ASC).unique());
+        mongoTemplate.indexOps(User.class).ensureIndex(new Index("name", Sort.Direction.ASC).unique());
+        seed(mongoTemplate.getCollection("users"), users);
+
+        userRepository = new MongoRepositoryFactory(mongoTemplate).getRepository(
+            UserRepository.class,
+            RepositoryFragments.just(new UserListingRepositoryImpl(mongoTemplate))
+        );
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        mongoClient.close();
+    }
+
+    @Benchmark
+    public Object findCredentialsByEmail() {
+        return userRepository.findCredentialsByEmail(randomEmail());
+    }
+
+    @Benchmark
+    public Object findPrincipalByEmail() {
+        return userRepository.findPrincipalByEmail(randomEmail());
+    }
+
+    @Benchmark
+    public Object findByEmailFullDocument() {
+        return userRepository.findByEmail(randomEmail());
+    }
+
+    @Benchmark
+    public boolean existsByEmailOrNameMiss() {
+        long id = users + ThreadLocalRandom.current().nextLong(1_000_000);
+        return userRepository.existsByEmailOrName("user" + id + "@example.com", "user" + id);
+    }
+
+    private String randomEmail() {
+        return "user" + ThreadLocalRandom.current().nextInt(users) + "@example.com";
+    }
+
+    /**
+     * Tops up the collection to {@code users} documents named {@code user<n>}.
+     */
+    static void seed(MongoCollection<Document> collection, int users) {
+        long existing = collection.countDocuments();
+        List<Document> batch = new ArrayList<>(SEED_BATCH_SIZE);
+
+        for (long i = existing; i < users; i++) {
+            batch.add(new Document("name", "user" + i)
+                .append("email", "user" + i + "@example.com")
+                .append("password", "$2a$10$benchmarkbenchmarkbenchmarkbenchmarkbenchmarkbench")
+                .append("role", "USER")
+                .append("enabled", true));
+
+            if (batch.size() == SEED_BATCH_SIZE) {
+                collection.insertMany(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) collection.insertMany(batch);
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.auth_service.services;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.auth_service.BenchmarkFixtures;
+import com.example.auth_service.entities.users.User;
+import com.example.auth_service.entities.users.UserRole;
+import com.example.auth_service.repositories.InMemoryRevokedTokenRepository;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenServiceBenchmark {
+
+    private TokenService tokenService;
+    private User user;
+
+    private String validToken;
+    private String expiredToken;
+    private String revokedToken;
+
+    @Setup
+    public void setUp() {
+        user = BenchmarkFixtures.user("1", UserRole.USER);
+        User revokedUser = BenchmarkFixtures.user("2", UserRole.USER);
+
+        TokenService issuer = BenchmarkFixtures.tokenService(
+            BenchmarkFixtures.revokedTokenCache(InMemoryRevokedTokenRepository.create())
+        );
+        validToken = issuer.generateToken(user);
+        expiredToken = BenchmarkFixtures.expiredToken(user);
+        revokedToken = issuer.generateToken(revokedUser);
+
+        tokenService = BenchmarkFixtures.tokenService(
+            BenchmarkFixtures.revokedTokenCache(InMemoryRevokedTokenRepository.create(revokedToken))
+        );
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return tokenService.generateToken(user);
+    }
+
+    @Benchmark
+    public String validateValidToken() {
+        return tokenService.validateToken(validToken);
+    }
+
+    @Benchmark
+    public String validateExpiredToken() {
+        return tokenService.validateToken(expiredToken);
+    }
+
+    @Benchmark
+    public String validateRevokedToken() {
+        return tokenService.validateToken(revokedToken);
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.auth_service.services.templates;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Compares the compiled template engine with the string concatenation previously used by
+ * AuthenticationService.sendVerificationEmail, with several threads rendering concurrently to
+ * mimic a signup burst. Run with -prof gc to compare allocation per email.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class EmailTemplateBenchmark {
+
+    private EmailTemplateEngine emailTemplateEngine;
+
+    @Setup
+    public void setUp() {
+        emailTemplateEngine = new EmailTemplateEngine();
+        ReflectionTestUtils.setField(emailTemplateEngine, "defaultLanguage", "en");
+        ReflectionTestUtils.setField(emailTemplateEngine, "brandName", "Music Reviews Site");
+        ReflectionTestUtils.setField(emailTemplateEngine, "brandColor", "#BB86FC");
+        ReflectionTestUtils.setField(emailTemplateEngine, "brandYear", "2024");
+        emailTemplateEngine.load();
+    }
+
+    @Benchmark
+    public RenderedEmail compiledTemplate() {
+        return emailTemplateEngine.render("verification", Locale.ENGLISH, Map.of("code", nextCode()));
+    }
+
+    @Benchmark
+    public String stringConcatenation() {
+        return legacyHtmlMessage(nextCode());
+    }
+
+    private static String nextCode() {
+        return String.valueOf(ThreadLocalRandom.current().nextInt(900000) + 100000);
+    }
+
+    private static String legacyHtmlMessage(String code) {
+        String verificationCode = "VERIFICATION CODE " + code;
+        return "<html>"
+        + "<body style=\"font-family: Arial, sans-serif; margin: 0; padding: 0; background-color: #f9f9f9;\">"
+        + "<div style=\"max-width: 600px; margin: 20px auto; background-color: #ffffff; border: 1px solid #ddd; border-radius: 8px; box-shadow: 0 4px 8px rgba(0,0,0,0.1);\">"
+
+        + "<div style=\"background-color: #BB86FC; color: #ffffff; padding: 15px 20px; border-radius: 8px 8px 0 0; text-align: center;\">"
+        + "<h1 style=\"margin: 0; font-size: 24px;\">Welcome to Music Reviews Site!</h1>"
+        + "</div>"
+
+        + "<div style=\"padding: 20px;\">"
+        + "<p style=\"font-size: 16px; color: #333333;\">Hello,</p>"
+        + "<p style=\"font-size: 16px; color: #333333;\">Thank you for registering with <strong>Music Reviews Site</strong>. "
+        + "Please use the verification code below to complete your registration:</p>"
+
+        + "<div style=\"background-color: #f4f4f4; text-align: center; padding: 15px; margin: 20px 0; border: 1px dashed #BB86FC; border-radius: 5px;\">"
+        + "<p style=\"font-size: 22px; font-weight: bold; color: #333333; letter-spacing: 3px; margin: 0;\">"
+        + verificationCode
+        + "</p>"
+        + "</div>"
+
+        + "<p style=\"font-size: 14px; color: #666666;\">If you did not request this verification code, please ignore this email. "
+        + "For your security, do not share this code with anyone.</p>"
+        + "</div>"
+
+        + "<div style=\"background-color: #f5f5f5; color: #999999; padding: 10px 20px; border-radius: 0 0 8px 8px; text-align: center; font-size: 12px;\">"
+        + "<p style=\"margin: 0;\">&copy; 2024 Music Reviews Site. All rights reserved.</p>"
+        + "</div>"
+
+        + "</div>"
+        + "</body>"
+        + "</html>";
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.auth_service.loadtest;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.connection.CachingConnectionFactory;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+
+/**
+ * {@link RabbitTemplate} that converts messages as usual but drops them instead of talking to a
+ * broker, and confirms every publish immediately. Its connection factory is never opened.
+ */
+class InMemoryRabbitTemplate extends RabbitTemplate {
+
+    private final AtomicLong published = new AtomicLong();
+
+    InMemoryRabbitTemplate() {
+        super(new CachingConnectionFactory());
+        setMessageConverter(new Jackson2JsonMessageConverter());
+    }
+
+    @Override
+    public <T> T invoke(OperationsCallback<T> action, com.rabbitmq.client.ConfirmCallback acks, com.rabbitmq.client.ConfirmCallback nacks) {
+        return action.doInRabbit(this);
+    }
+
+    @Override
+    public void send(String exchange, String routingKey, Message message, CorrelationData correlationData) {
+        published.incrementAndGet();
+        if (correlationData != null) correlationData.getFuture().complete(new CorrelationData.Confirm(true, null));
+    }
+
+    long published() {
+        return published.get();
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.auth_service.loadtest;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+
+@Configuration
+@Profile("loadtest")
+public class LoadTestConfigurations {
+
+    @Bean
+    @Primary
+    InMemoryRabbitTemplate inMemoryRabbitTemplate() {
+        return new InMemoryRabbitTemplate();
+    }
+}
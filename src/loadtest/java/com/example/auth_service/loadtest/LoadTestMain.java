@@ -0,0 +1,87 @@
+package com.example.auth_service.loadtest;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.bson.Document;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import com.example.auth_service.AuthServiceApplication;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
+
+/**
+ * Boots the service against in-process stand-ins and drives a scenario through its HTTP API.
+ *
+ * Usage: {@code LoadTestMain <scenario.json> <output directory>}
+ */
+public final class LoadTestMain {
+
+    private static final int SEED_BATCH_SIZE = 1000;
+
+    private LoadTestMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Scenario scenario = Scenario.read(Path.of(args[0]));
+        Path outputDirectory = Path.of(args.length > 1 ? args[1] : "target/loadtest");
+
+        try (StandIns standIns = new StandIns()) {
+            // System properties take precedence over application.properties
+            standIns.properties().forEach(System::setProperty);
+            seedUsers(standIns.mongoUri(), scenario.seedUsers());
+
+            try (ConfigurableApplicationContext context = new SpringApplicationBuilder(AuthServiceApplication.class)
+                    .profiles("loadtest")
+                    .run()) {
+
+                int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+                Workload workload = new Workload(
+                    URI.create("http://127.0.0.1:" + port),
+                    context.getBean(StringRedisTemplate.class),
+                    scenario.seedUsers()
+                );
+                workload.prime();
+
+                OpenModelDriver driver = new OpenModelDriver(scenario, workload);
+                driver.run();
+                driver.report(System.out, outputDirectory);
+
+                System.out.printf("emails delivered: %d, register events published: %d%n",
+                    standIns.receivedEmails(), context.getBean(InMemoryRabbitTemplate.class).published());
+            }
+        }
+    }
+
+    /**
+     * Inserts verified users {@code load<n>@example.com} directly, all sharing one password hash.
+     */
+    private static void seedUsers(String mongoUri, int users) {
+        String passwordHash = new BCryptPasswordEncoder().encode(Workload.PASSWORD);
+
+        try (MongoClient client = MongoClients.create(mongoUri)) {
+            MongoCollection<Document> collection = client.getDatabase(StandIns.DATABASE).getCollection("users");
+            List<Document> batch = new ArrayList<>(SEED_BATCH_SIZE);
+
+            for (int i = 0; i < users; i++) {
+                batch.add(new Document("name", "load" + i)
+                    .append("email", "load" + i + "@example.com")
+                    .append("password", passwordHash)
+                    .append("role", "USER")
+                    .append("enabled", true));
+
+                if (batch.size() == SEED_BATCH_SIZE) {
+                    collection.insertMany(batch);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) collection.insertMany(batch);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.auth_service.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import com.example.auth_service.loadtest.Scenario.Operation;
+
+/**
+ * Sends requests at a fixed arrival rate, each on its own virtual thread, and records latencies
+ * per operation.
+ *
+ * Response time is measured from when a request was scheduled to start, not from when it was
+ * actually sent, so a stalled service is charged for the requests queued behind the stall
+ * (correcting coordinated omission). Service time, from send to response, is kept alongside for
+ * comparison.
+ */
+final class OpenModelDriver {
+
+    private final Scenario scenario;
+    private final Workload workload;
+
+    private final Map<Operation, Histogram> responseTimes = new EnumMap<>(Operation.class);
+    private final Map<Operation, Histogram> serviceTimes = new EnumMap<>(Operation.class);
+    private final Map<Operation, AtomicLong> errors = new EnumMap<>(Operation.class);
+    private final AtomicLong skipped = new AtomicLong();
+
+    OpenModelDriver(Scenario scenario, Workload workload) {
+        this.scenario = scenario;
+        this.workload = workload;
+        for (Operation operation : Operation.values()) {
+            responseTimes.put(operation, new ConcurrentHistogram(3));
+            serviceTimes.put(operation, new ConcurrentHistogram(3));
+            errors.put(operation, new AtomicLong());
+        }
+    }
+
+    void run() throws InterruptedException {
+        Operation[] operations = scenario.weightedOperations();
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / scenario.ratePerSecond());
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(scenario.warmupSeconds());
+        long end = measureFrom + TimeUnit.SECONDS.toNanos(scenario.durationSeconds());
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long intended = start; intended < end; intended += intervalNanos) {
+                long wait;
+                while ((wait = intended - System.nanoTime()) > 0) LockSupport.parkNanos(wait);
+
+                Operation operation = operations[ThreadLocalRandom.current().nextInt(operations.length)];
+                long scheduledAt = intended;
+                boolean measured = intended >= measureFrom;
+                executor.execute(() -> send(operation, scheduledAt, measured));
+            }
+            // Closing the executor waits for requests still in flight
+        }
+    }
+
+    private void send(Operation operation, long scheduledAt, boolean measured) {
+        long sentAt = System.nanoTime();
+        int status;
+        try {
+            status = workload.execute(operation);
+        } catch (IOException e) {
+            status = -1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        long doneAt = System.nanoTime();
+
+        if (status == Workload.SKIPPED) {
+            skipped.incrementAndGet();
+            return;
+        }
+        if (!measured) return;
+
+        responseTimes.get(operation).recordValue(TimeUnit.NANOSECONDS.toMicros(doneAt - scheduledAt));
+        serviceTimes.get(operation).recordValue(TimeUnit.NANOSECONDS.toMicros(doneAt - sentAt));
+        if (status < 200 || status >= 300) errors.get(operation).incrementAndGet();
+    }
+
+    /**
+     * Prints throughput and percentiles per operation, and writes each full response-time
+     * distribution to {@code <operation>.hgrm} in the output directory.
+     */
+    void report(PrintStream out, Path outputDirectory) throws IOException {
+        Files.createDirectories(outputDirectory);
+        double seconds = scenario.durationSeconds();
+
+        out.printf("%nTarget rate %.0f req/s, %d s measured after %d s warm-up (latencies in ms)%n",
+            scenario.ratePerSecond(), scenario.durationSeconds(), scenario.warmupSeconds());
+        out.printf("%-14s %9s %8s %9s %8s %8s %8s %8s %12s%n",
+            "operation", "requests", "errors", "req/s", "p50", "p99", "p99.9", "max", "service p99");
+
+        for (Operation operation : Operation.values()) {
+            Histogram response = responseTimes.get(operation);
+            if (response.getTotalCount() == 0) continue;
+            Histogram service = serviceTimes.get(operation);
+
+            out.printf("%-14s %9d %8d %9.1f %8.2f %8.2f %8.2f %8.2f %12.2f%n",
+                operation.name().toLowerCase(),
+                response.getTotalCount(),
+                errors.get(operation).get(),
+                response.getTotalCount() / seconds,
+                millis(response.getValueAtPercentile(50)),
+                millis(response.getValueAtPercentile(99)),
+                millis(response.getValueAtPercentile(99.9)),
+                millis(response.getMaxValue()),
+                millis(service.getValueAtPercentile(99)));
+
+            Path file = outputDirectory.resolve(operation.name().toLowerCase() + ".hgrm");
+            try (PrintStream hgrm = new PrintStream(Files.newOutputStream(file))) {
+                response.outputPercentileDistribution(hgrm, 1000.0);
+            }
+        }
+        out.printf("skipped (nothing to act on): %d%n", skipped.get());
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.auth_service.loadtest;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * A load-test scenario read from JSON.
+ *
+ * Requests arrive at a fixed {@code ratePerSecond} whatever the response times (an open model),
+ * and each one is an operation drawn from {@code mix} with the given weights. Results from the
+ * first {@code warmupSeconds} are discarded. {@code seedUsers} verified users exist before start.
+ */
+record Scenario(
+    double ratePerSecond,
+    int warmupSeconds,
+    int durationSeconds,
+    int seedUsers,
+    Map<String, Integer> mix
+) {
+
+    enum Operation { REGISTER, VERIFY, LOGIN, AUTHENTICATED, LOGOUT }
+
+    static Scenario read(Path path) throws IOException {
+        Scenario scenario = new ObjectMapper().readValue(path.toFile(), Scenario.class);
+        if (scenario.ratePerSecond() <= 0 || scenario.weights().isEmpty()) {
+            throw new IllegalArgumentException("Scenario needs a positive rate and at least one weighted operation");
+        }
+        return scenario;
+    }
+
+    Map<Operation, Integer> weights() {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        mix.forEach((name, weight) -> {
+            if (weight > 0) weights.put(Operation.valueOf(name.toUpperCase()), weight);
+        });
+        return weights;
+    }
+
+    /**
+     * Every operation repeated by its weight, so that a uniformly random element follows the mix.
+     */
+    Operation[] weightedOperations() {
+        return weights().entrySet().stream()
+            .flatMap(entry -> Collections.nCopies(entry.getValue(), entry.getKey()).stream())
+            .toArray(Operation[]::new);
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.auth_service.loadtest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.Map;
+
+import com.github.fppt.jedismock.RedisServer;
+import com.github.fppt.jedismock.datastructures.Slice;
+import com.github.fppt.jedismock.operations.server.MockExecutor;
+import com.github.fppt.jedismock.server.ServiceOptions;
+import com.github.fppt.jedismock.storage.OperationExecutorState;
+import com.icegreen.greenmail.configuration.GreenMailConfiguration;
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetupTest;
+
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+
+/**
+ * In-process replacements for the external services: an in-memory MongoDB speaking the wire
+ * protocol, a Redis mock (with Lua and pub/sub), and a GreenMail SMTP sink that accepts any mail.
+ * RabbitMQ is replaced inside the application by {@link InMemoryRabbitTemplate}.
+ */
+final class StandIns implements AutoCloseable {
+
+    static final String DATABASE = "auth_loadtest";
+
+    private final MongoServer mongo;
+    private final RedisServer redis;
+    private final GreenMail smtp;
+
+    private final String mongoUri;
+
+    StandIns() throws IOException {
+        mongo = new MongoServer(new MemoryBackend());
+        InetSocketAddress mongoAddress = mongo.bind();
+        mongoUri = "mongodb://" + mongoAddress.getHostString() + ":" + mongoAddress.getPort() + "/" + DATABASE;
+
+        redis = RedisServer.newRedisServer().setOptions(ServiceOptions.withInterceptor(StandIns::execRedisCommand));
+        redis.start();
+
+        smtp = new GreenMail(ServerSetupTest.SMTP.dynamicPort())
+            .withConfiguration(GreenMailConfiguration.aConfig().withDisabledAuthentication());
+        smtp.start();
+    }
+
+    String mongoUri() {
+        return mongoUri;
+    }
+
+    /**
+     * Properties pointing the application at the stand-ins.
+     */
+    Map<String, String> properties() {
+        return Map.of(
+            "spring.data.mongodb.uri", mongoUri,
+            "spring.data.redis.host", redis.getHost(),
+            "spring.data.redis.port", String.valueOf(redis.getBindPort()),
+            "spring.mail.host", "127.0.0.1",
+            "spring.mail.port", String.valueOf(smtp.getSmtp().getPort())
+        );
+    }
+
+    int receivedEmails() {
+        return smtp.getReceivedMessages().length;
+    }
+
+    /**
+     * The Redis mock answers a SUBSCRIBE to several channels with a single confirmation, while
+     * the listener container waits for one per channel. Subscribe to them one at a time instead.
+     */
+    private static Slice execRedisCommand(OperationExecutorState state, String command, List<Slice> params) {
+        if (!command.equalsIgnoreCase("subscribe") || params.size() < 2) {
+            return MockExecutor.proceed(state, command, params);
+        }
+
+        ByteArrayOutputStream replies = new ByteArrayOutputStream();
+        for (Slice channel : params) {
+            replies.writeBytes(MockExecutor.proceed(state, command, List.of(channel)).data());
+        }
+        return Slice.create(replies.toByteArray());
+    }
+
+    @Override
+    public void close() throws IOException {
+        smtp.stop();
+        redis.stop();
+        mongo.shutdownNow();
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.auth_service.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import com.example.auth_service.loadtest.Scenario.Operation;
+import com.example.auth_service.repositories.VerificationCodeRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Issues one request per operation against the running service, keeping the state the flows need:
+ * users registered but not yet verified, live access tokens for authenticated calls, and tokens
+ * set aside to be logged out.
+ */
+final class Workload {
+
+    static final String PASSWORD = "loadtest-password";
+
+    /**
+     * Returned when an operation had nothing to work on, e.g. no user waiting for verification.
+     */
+    static final int SKIPPED = 0;
+
+    private static final int TOKEN_SLOTS = 1024;
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final URI baseUri;
+    private final StringRedisTemplate redisTemplate;
+    private final int seedUsers;
+
+    private final AtomicLong registered = new AtomicLong();
+    private final BlockingQueue<String> unverified = new ArrayBlockingQueue<>(100_000);
+    private final AtomicReferenceArray<String> liveTokens = new AtomicReferenceArray<>(TOKEN_SLOTS);
+    private final BlockingQueue<String> retiredTokens = new ArrayBlockingQueue<>(100_000);
+
+    Workload(URI baseUri, StringRedisTemplate redisTemplate, int seedUsers) {
+        this.baseUri = baseUri;
+        this.redisTemplate = redisTemplate;
+        this.seedUsers = seedUsers;
+    }
+
+    /**
+     * Runs one operation.
+     *
+     * @return the HTTP status, or {@link #SKIPPED}
+     */
+    int execute(Operation operation) throws IOException, InterruptedException {
+        return switch (operation) {
+            case REGISTER -> register();
+            case VERIFY -> verify();
+            case LOGIN -> login();
+            case AUTHENTICATED -> authenticated();
+            case LOGOUT -> logout();
+        };
+    }
+
+    /**
+     * Logs in enough seeded users to fill every token slot before the measured run.
+     */
+    void prime() throws IOException, InterruptedException {
+        for (int i = 0; i < TOKEN_SLOTS; i++) login();
+    }
+
+    private int register() throws IOException, InterruptedException {
+        long n = registered.incrementAndGet();
+        String email = "new" + n + "@example.com";
+        String body = "{\"name\":\"new" + n + "\",\"email\":\"" + email + "\",\"password\":\"" + PASSWORD + "\"}";
+
+        HttpResponse<String> response = post("/auth/register", body, null);
+        if (response.statusCode() == 201) unverified.offer(email);
+        return response.statusCode();
+    }
+
+    private int verify() throws IOException, InterruptedException {
+        String email = unverified.poll();
+        if (email == null) return SKIPPED;
+
+        Object code = redisTemplate.opsForHash().get(VerificationCodeRepository.keyOf(email), "code");
+        String body = "{\"email\":\"" + email + "\",\"verificationCode\":\"" + code + "\"}";
+        return post("/auth/verify", body, null).statusCode();
+    }
+
+    private int login() throws IOException, InterruptedException {
+        int n = ThreadLocalRandom.current().nextInt(seedUsers);
+        String body = "{\"email\":\"load" + n + "@example.com\",\"password\":\"" + PASSWORD + "\"}";
+
+        HttpResponse<String> response = post("/auth/login", body, null);
+        if (response.statusCode() == 200) {
+            JsonNode tokens = objectMapper.readTree(response.body());
+            String replaced = liveTokens.getAndSet(ThreadLocalRandom.current().nextInt(TOKEN_SLOTS), tokens.get("token").asText());
+            if (replaced != null) retiredTokens.offer(replaced);
+        }
+        return response.statusCode();
+    }
+
+    /**
+     * A cheap authenticated request, so the time is dominated by {@code SecurityFilter}.
+     */
+    private int authenticated() throws IOException, InterruptedException {
+        String token = liveTokens.get(ThreadLocalRandom.current().nextInt(TOKEN_SLOTS));
+        if (token == null) return SKIPPED;
+
+        HttpRequest request = HttpRequest.newBuilder(baseUri.resolve("/actuator/health"))
+            .header("Authorization", "Bearer " + token)
+            .GET()
+            .build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private int logout() throws IOException, InterruptedException {
+        String token = retiredTokens.poll();
+        if (token == null) return SKIPPED;
+
+        return post("/auth/logout", "", token).statusCode();
+    }
+
+    private HttpResponse<String> post(String path, String body, String token) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(baseUri.resolve(path))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (token != null) request.header("Authorization", "Bearer " + token);
+
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.auth_service.controllers;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.bson.types.ObjectId;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.auth_service.entities.users.User;
+import com.example.auth_service.entities.users.UserRole;
+import com.example.auth_service.entities.users.dtos.ImportProgressDTO;
+import com.example.auth_service.entities.users.dtos.UserPageDTO;
+import com.example.auth_service.entities.users.dtos.UserSummaryDTO;
+import com.example.auth_service.repositories.UserRepository;
+import com.example.auth_service.services.UserImportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * User administration, restricted to admins.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/admin/users")
+public class AdminUserController {
+
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
+    @Autowired
+    private UserImportService userImportService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${api.admin.users.max-page-size}")
+    private int maxPageSize;
+
+    /**
+     * Lists users one page at a time, ordered by id. Pass the {@code next} cursor of a page as
+     * {@code after} to read the following one.
+     *
+     * @param role only users with this role ({@code user} or {@code admin})
+     * @param enabled only users with this status
+     * @param after the cursor returned with the previous page
+     * @param limit the page size, at most {@code api.admin.users.max-page-size}
+     * @return ResponseEntity with the page and the next cursor
+     */
+    @SuppressWarnings("rawtypes")
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity listUsers(
+            @RequestParam(required = false) String role,
+            @RequestParam(required = false) Boolean enabled,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "100") int limit) {
+
+        if (limit < 1 || limit > maxPageSize) {
+            return ResponseEntity.badRequest().body("Limit must be between 1 and " + maxPageSize);
+        }
+        if (after != null && !ObjectId.isValid(after)) {
+            return ResponseEntity.badRequest().body("Invalid cursor");
+        }
+        UserRole userRole;
+        try {
+            userRole = role != null ? UserRole.fromRole(role) : null;
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+
+        List<UserSummaryDTO> users = userRepository.findPage(userRole, enabled, after, limit).stream()
+                .map(UserSummaryDTO::of)
+                .toList();
+        String next = users.size() == limit ? users.get(users.size() - 1).id() : null;
+
+        return ResponseEntity.ok(new UserPageDTO(users, next));
+    }
+
+    /**
+     * Exports every matching user as NDJSON, streamed from a single database cursor.
+     *
+     * @param role only users with this role ({@code user} or {@code admin})
+     * @param enabled only users with this status
+     * @param response the HTTP response, written to as users are read
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void exportUsers(
+            @RequestParam(required = false) String role,
+            @RequestParam(required = false) Boolean enabled,
+            HttpServletResponse response) throws IOException {
+
+        UserRole userRole;
+        try {
+            userRole = role != null ? UserRole.fromRole(role) : null;
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), e.getMessage());
+            return;
+        }
+
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        OutputStream out = response.getOutputStream();
+
+        try (Stream<User> users = userRepository.streamAll(userRole, enabled)) {
+            Iterator<User> iterator = users.iterator();
+            while (iterator.hasNext()) {
+                out.write(objectMapper.writeValueAsBytes(UserSummaryDTO.of(iterator.next())));
+                out.write('\n');
+            }
+        }
+    }
+
+    /**
+     * Imports users from an NDJSON or CSV body, streaming back one NDJSON line per rejected row
+     * and a progress line after every batch. The request body is read as it arrives, so inputs of
+     * any size can be sent.
+     *
+     * @param request the HTTP request, whose body holds the users
+     * @param response the HTTP response, written to as the import progresses
+     */
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, "text/csv"}, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void importUsers(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        UserImportService.Format format = TEXT_CSV.isCompatibleWith(MediaType.parseMediaType(request.getContentType()))
+                ? UserImportService.Format.CSV
+                : UserImportService.Format.NDJSON;
+
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        OutputStream out = response.getOutputStream();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8))) {
+            userImportService.importUsers(reader, format, line -> {
+                try {
+                    out.write(objectMapper.writeValueAsBytes(line));
+                    out.write('\n');
+                    if (line instanceof ImportProgressDTO) out.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package com.example.auth_service.controllers;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -8,6 +11,7 @@ import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.validation.BindingResult;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
@@ -17,15 +21,25 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.example.auth_service.entities.users.User;
 import com.example.auth_service.entities.users.dtos.AuthenticationDTO;
-import com.example.auth_service.entities.users.dtos.LoginResponseDTO;
+import com.example.auth_service.entities.users.dtos.IntrospectRequestDTO;
+import com.example.auth_service.entities.users.dtos.RefreshDTO;
 import com.example.auth_service.entities.users.dtos.RegisterDTO;
 import com.example.auth_service.entities.users.dtos.VerifyDTO;
+import com.example.auth_service.infra.audit.AuditEventType;
+import com.example.auth_service.infra.audit.AuditLog;
+import com.example.auth_service.infra.metrics.EndpointMetrics;
+import com.example.auth_service.infra.ratelimit.RateLimiter;
+import com.example.auth_service.infra.security.PasswordHashingRejectedException;
 import com.example.auth_service.services.AuthenticationService;
+import com.example.auth_service.services.IntrospectionService;
+import com.example.auth_service.services.RefreshTokenService;
 import com.example.auth_service.services.TokenService;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping(value = "/auth", produces = {"application/json"})
 public class AuthController {
 
@@ -38,73 +52,213 @@ public class AuthController {
     @Autowired
     private TokenService tokenService;
 
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private IntrospectionService introspectionService;
+
+    @Value("${api.introspection.max-batch}")
+    private int introspectionMaxBatch;
+
+    @Autowired
+    private RateLimiter rateLimiter;
+
+    @Autowired
+    private EndpointMetrics endpointMetrics;
+
+    @Autowired
+    private AuditLog auditLog;
+
     /**
      * Registers a new user.
      *
      * @param data Object containing user registration data
      * @param result Object checking the validation from registration data
+     * @param request the HTTP request, used to identify the client for rate limiting
      * @return ResponseEntity indicating success or failure of registration
      */
     @SuppressWarnings("rawtypes")
     @PostMapping(value = "/register", consumes = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity register(@Valid @RequestBody RegisterDTO data, BindingResult result) {
+    public ResponseEntity register(@Valid @RequestBody RegisterDTO data, BindingResult result, HttpServletRequest request) {
+        return endpointMetrics.record("register", () -> {
+            if (!rateLimiter.tryAcquire("register", request.getRemoteAddr(), data.email())) {
+                return tooManyRequests();
+            }
 
-        if (result.hasErrors()) {
-            String error = result.getAllErrors().get(0).getDefaultMessage();
-            return ResponseEntity.badRequest().body(error);
-        }
+            if (result.hasErrors()) {
+                String error = result.getAllErrors().get(0).getDefaultMessage();
+                return ResponseEntity.badRequest().body(error);
+            }
 
-        return authenticationService.signup(data);
+            return authenticationService.signup(data);
+        });
     }
 
     @SuppressWarnings("rawtypes")
     @PostMapping("/verify")
     public ResponseEntity verifyUser(@RequestBody VerifyDTO data) {
-        return authenticationService.verifyUser(data);
+        return endpointMetrics.record("verify", () -> authenticationService.verifyUser(data));
     }
 
     @SuppressWarnings("rawtypes")
     @PostMapping("/resend")
-    public ResponseEntity resendVerificationCode(@RequestParam String email) {
-        return authenticationService.resendVerificationCode(email);
+    public ResponseEntity resendVerificationCode(@RequestParam String email, HttpServletRequest request) {
+        return endpointMetrics.record("resend", () -> {
+            if (!rateLimiter.tryAcquire("resend", request.getRemoteAddr(), email)) {
+                return tooManyRequests();
+            }
+
+            return authenticationService.resendVerificationCode(email);
+        });
     }
 
     /**
      * Authenticates user login.
      *
      * @param data Object containing user credentials
-     * @return ResponseEntity containing authentication token
+     * @param request the HTTP request, used to identify the client for rate limiting
+     * @return ResponseEntity containing the access token and a refresh token
      */
     @SuppressWarnings("rawtypes")
     @PostMapping(value = "/login", consumes = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity login(@RequestBody AuthenticationDTO data) {
-        var credentials = new UsernamePasswordAuthenticationToken(data.email(), data.password());
-        
-        try {
-            var auth = this.authenticationManager.authenticate(credentials);
-            User user = (User) auth.getPrincipal();
-            var token = tokenService.generateToken(user);
-            
-            return ResponseEntity.ok(new LoginResponseDTO(token));
-        } catch (AuthenticationException e) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Unverified or incorrect credentials");
-        }
+    public ResponseEntity login(@RequestBody AuthenticationDTO data, HttpServletRequest request) {
+        return endpointMetrics.record("login", () -> {
+            if (!rateLimiter.tryAcquire("login", request.getRemoteAddr(), data.email())) {
+                return tooManyRequests();
+            }
+
+            var credentials = new UsernamePasswordAuthenticationToken(data.email(), data.password());
+
+            try {
+                var auth = this.authenticationManager.authenticate(credentials);
+                User user = (User) auth.getPrincipal();
+
+                auditLog.record(AuditEventType.LOGIN, user.getEmail(), request.getRemoteAddr());
+                return ResponseEntity.ok(refreshTokenService.login(user));
+            } catch (AuthenticationException e) {
+                auditLog.record(AuditEventType.LOGIN_FAILED, data.email(), request.getRemoteAddr());
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Unverified or incorrect credentials");
+            }
+        });
+    }
+
+    /**
+     * Exchanges a refresh token for a new access token and the next refresh token. Each refresh
+     * token can only be used once.
+     *
+     * @param data Object containing the refresh token
+     * @param request the HTTP request, used to identify the client for rate limiting
+     * @return ResponseEntity containing the new tokens
+     */
+    @SuppressWarnings("rawtypes")
+    @PostMapping(value = "/refresh", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity refresh(@RequestBody RefreshDTO data, HttpServletRequest request) {
+        return endpointMetrics.record("refresh", () -> {
+            if (!rateLimiter.tryAcquire("refresh", request.getRemoteAddr(), null)) {
+                return tooManyRequests();
+            }
+
+            var tokens = refreshTokenService.refresh(data.refreshToken());
+            if (tokens == null) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid refresh token");
+            }
+
+            return ResponseEntity.ok(tokens);
+        });
     }
 
     /**
-     * Logs out the user by invalidating the provided token.
+     * Introspects a batch of tokens for a gateway. Callers authenticate with the shared
+     * introspection secret rather than a user token.
+     *
+     * @param secret the shared secret configured in {@code api.introspection.secret}
+     * @param data Object containing the tokens to check
+     * @return ResponseEntity with one result per token, in request order
+     */
+    @SuppressWarnings("rawtypes")
+    @PostMapping(value = "/introspect", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity introspect(
+            @RequestHeader(value = "X-Introspection-Secret", required = false) String secret,
+            @RequestBody IntrospectRequestDTO data) {
+        return endpointMetrics.record("introspect", () -> {
+            if (!introspectionService.isAuthorized(secret)) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+            }
+            if (data.tokens() == null || data.tokens().size() > introspectionMaxBatch) {
+                return ResponseEntity.badRequest().body("Between 0 and " + introspectionMaxBatch + " tokens per request");
+            }
+
+            return ResponseEntity.ok(introspectionService.introspect(data.tokens()));
+        });
+    }
+
+    /**
+     * Logs out the user by invalidating the provided token and ending its refresh session.
      *
      * @param authorizationHeader the authorization header containing the user's token
+     * @param request the HTTP request, used to identify the client in the audit log
      * @return ResponseEntity indicating the success of the logout operation
      */
     @SuppressWarnings("rawtypes")
     @PostMapping(value = "/logout")
-    public ResponseEntity logout(@RequestHeader("Authorization") String authorizationHeader) {
-        String token = authorizationHeader.replace("Bearer ", "");
+    public ResponseEntity logout(@RequestHeader("Authorization") String authorizationHeader, HttpServletRequest request) {
+        return endpointMetrics.record("logout", () -> {
+            String token = authorizationHeader.replace("Bearer ", "");
 
-        tokenService.revokeToken(token);
+            var revoked = tokenService.revokeToken(token);
+            if (revoked != null) {
+                refreshTokenService.logout(revoked);
+                auditLog.record(AuditEventType.LOGOUT, revoked.getSubject(), request.getRemoteAddr());
+            }
 
-        return ResponseEntity.status(HttpStatus.OK).build();
+            return ResponseEntity.status(HttpStatus.OK).build();
+        });
+    }
+
+    /**
+     * Logs the user out of every session by revoking all tokens issued to them so far.
+     *
+     * @param authorizationHeader the authorization header containing one of the user's tokens
+     * @param request the HTTP request, used to identify the client in the audit log
+     * @return ResponseEntity indicating the success of the operation
+     */
+    @SuppressWarnings("rawtypes")
+    @PostMapping(value = "/logout-all")
+    public ResponseEntity logoutAll(@RequestHeader("Authorization") String authorizationHeader, HttpServletRequest request) {
+        return endpointMetrics.record("logout_all", () -> {
+            String token = authorizationHeader.replace("Bearer ", "");
+
+            var revoked = tokenService.revokeAllTokens(token);
+            if (revoked == null) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+            }
+            auditLog.record(AuditEventType.LOGOUT_ALL, revoked.getSubject(), request.getRemoteAddr());
+
+            return ResponseEntity.status(HttpStatus.OK).build();
+        });
+    }
+
+    @SuppressWarnings("rawtypes")
+    private ResponseEntity tooManyRequests() {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "60")
+                .body("Too many requests, try again later");
+    }
+
+    /**
+     * Sheds load when the password hashing pool is saturated, so callers back off
+     * instead of queueing behind BCrypt work.
+     *
+     * @param e the rejection raised by the hashing pool
+     * @return ResponseEntity with status 503 and a Retry-After header
+     */
+    @SuppressWarnings("rawtypes")
+    @ExceptionHandler(PasswordHashingRejectedException.class)
+    public ResponseEntity passwordHashingRejected(PasswordHashingRejectedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body("Service busy, try again later");
     }
 
 }
@@ -0,0 +1,34 @@
+package com.example.auth_service.controllers;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.auth_service.infra.security.SigningKeyManager;
+
+/**
+ * Publishes the token verification keys, so other services can validate tokens locally. Served
+ * by both the servlet and the reactive stack.
+ */
+@RestController
+public class JwksController {
+
+    @Autowired
+    private SigningKeyManager signingKeyManager;
+
+    /**
+     * Returns the public signing keys as a JWK Set.
+     *
+     * @return the pre-rendered JWK Set, cacheable for five minutes
+     */
+    @GetMapping(value = "/.well-known/jwks.json", produces = "application/json")
+    public ResponseEntity<String> jwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic())
+                .body(signingKeyManager.jwks());
+    }
+}
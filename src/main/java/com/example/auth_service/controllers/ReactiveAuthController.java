@@ -0,0 +1,270 @@
+package com.example.auth_service.controllers;
+
+import java.net.InetSocketAddress;
+import java.util.Locale;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.example.auth_service.entities.users.User;
+import com.example.auth_service.entities.users.dtos.AuthenticationDTO;
+import com.example.auth_service.entities.users.dtos.IntrospectRequestDTO;
+import com.example.auth_service.entities.users.dtos.RefreshDTO;
+import com.example.auth_service.entities.users.dtos.RegisterDTO;
+import com.example.auth_service.entities.users.dtos.VerifyDTO;
+import com.example.auth_service.infra.audit.AuditEventType;
+import com.example.auth_service.infra.audit.AuditLog;
+import com.example.auth_service.infra.metrics.EndpointMetrics;
+import com.example.auth_service.infra.ratelimit.RateLimiter;
+import com.example.auth_service.infra.security.PasswordHashingRejectedException;
+import com.example.auth_service.services.IntrospectionService;
+import com.example.auth_service.services.ReactiveAuthenticationService;
+import com.example.auth_service.services.ReactiveTokenService;
+import com.example.auth_service.services.RefreshTokenService;
+import com.example.auth_service.services.TokenService;
+
+import jakarta.validation.Valid;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * WebFlux counterpart of {@link AuthController}, active when
+ * {@code spring.main.web-application-type=reactive}. Same endpoints, bodies and status codes.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping(value = "/auth", produces = {"application/json"})
+public class ReactiveAuthController {
+
+    @Autowired
+    private ReactiveAuthenticationService authenticationService;
+
+    @Autowired
+    private ReactiveAuthenticationManager authenticationManager;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private ReactiveTokenService reactiveTokenService;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private IntrospectionService introspectionService;
+
+    @Value("${api.introspection.max-batch}")
+    private int introspectionMaxBatch;
+
+    @Autowired
+    private RateLimiter rateLimiter;
+
+    @Autowired
+    private EndpointMetrics endpointMetrics;
+
+    @Autowired
+    private AuditLog auditLog;
+
+    /**
+     * Registers a new user.
+     *
+     * @param data Object containing user registration data
+     * @param exchange the current exchange, used for the client address and locale
+     * @return ResponseEntity indicating success or failure of registration
+     */
+    @PostMapping(value = "/register", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<Object>> register(@Valid @RequestBody RegisterDTO data, ServerWebExchange exchange) {
+        return endpointMetrics.record("register", Mono.defer(() -> {
+            if (!rateLimiter.tryAcquire("register", clientIp(exchange), data.email())) {
+                return Mono.just(tooManyRequests());
+            }
+
+            return authenticationService.signup(data, locale(exchange));
+        }));
+    }
+
+    @PostMapping("/verify")
+    public Mono<ResponseEntity<Object>> verifyUser(@RequestBody VerifyDTO data) {
+        return endpointMetrics.record("verify", authenticationService.verifyUser(data));
+    }
+
+    @PostMapping("/resend")
+    public Mono<ResponseEntity<Object>> resendVerificationCode(@RequestParam String email, ServerWebExchange exchange) {
+        return endpointMetrics.record("resend", Mono.defer(() -> {
+            if (!rateLimiter.tryAcquire("resend", clientIp(exchange), email)) {
+                return Mono.just(tooManyRequests());
+            }
+
+            return authenticationService.resendVerificationCode(email, locale(exchange));
+        }));
+    }
+
+    /**
+     * Authenticates user login.
+     *
+     * @param data Object containing user credentials
+     * @param exchange the current exchange, used to identify the client for rate limiting
+     * @return ResponseEntity containing the access token and a refresh token
+     */
+    @PostMapping(value = "/login", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<Object>> login(@RequestBody AuthenticationDTO data, ServerWebExchange exchange) {
+        return endpointMetrics.record("login", Mono.defer(() -> {
+            if (!rateLimiter.tryAcquire("login", clientIp(exchange), data.email())) {
+                return Mono.just(tooManyRequests());
+            }
+
+            var credentials = new UsernamePasswordAuthenticationToken(data.email(), data.password());
+
+            return authenticationManager.authenticate(credentials)
+                    .publishOn(Schedulers.boundedElastic())
+                    .map(auth -> {
+                        User user = (User) auth.getPrincipal();
+                        auditLog.record(AuditEventType.LOGIN, user.getEmail(), clientIp(exchange));
+                        return ResponseEntity.<Object>ok(refreshTokenService.login(user));
+                    })
+                    .onErrorResume(AuthenticationException.class, e -> {
+                        auditLog.record(AuditEventType.LOGIN_FAILED, data.email(), clientIp(exchange));
+                        return Mono.just(ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Unverified or incorrect credentials"));
+                    });
+        }));
+    }
+
+    /**
+     * Exchanges a refresh token for a new access token and the next refresh token.
+     *
+     * @param data Object containing the refresh token
+     * @param exchange the current exchange, used to identify the client for rate limiting
+     * @return ResponseEntity containing the new tokens
+     */
+    @PostMapping(value = "/refresh", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<Object>> refresh(@RequestBody RefreshDTO data, ServerWebExchange exchange) {
+        return endpointMetrics.record("refresh", Mono.defer(() -> {
+            if (!rateLimiter.tryAcquire("refresh", clientIp(exchange), null)) {
+                return Mono.just(tooManyRequests());
+            }
+
+            return Mono.fromCallable(() -> refreshTokenService.refresh(data.refreshToken()))
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .map(tokens -> ResponseEntity.<Object>ok(tokens))
+                    .defaultIfEmpty(ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid refresh token"));
+        }));
+    }
+
+    /**
+     * Introspects a batch of tokens for a gateway, as in {@link AuthController}.
+     *
+     * @param secret the shared secret configured in {@code api.introspection.secret}
+     * @param data Object containing the tokens to check
+     * @return ResponseEntity with one result per token, in request order
+     */
+    @PostMapping(value = "/introspect", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<Object>> introspect(
+            @RequestHeader(value = "X-Introspection-Secret", required = false) String secret,
+            @RequestBody IntrospectRequestDTO data) {
+        return endpointMetrics.record("introspect", Mono.defer(() -> {
+            if (!introspectionService.isAuthorized(secret)) {
+                return Mono.just(ResponseEntity.status(HttpStatus.FORBIDDEN).build());
+            }
+            if (data.tokens() == null || data.tokens().size() > introspectionMaxBatch) {
+                return Mono.just(ResponseEntity.badRequest().body("Between 0 and " + introspectionMaxBatch + " tokens per request"));
+            }
+
+            return Mono.fromCallable(() -> introspectionService.introspect(data.tokens()))
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .map(results -> ResponseEntity.<Object>ok(results));
+        }));
+    }
+
+    /**
+     * Logs out the user by invalidating the provided token and ending its refresh session.
+     *
+     * @param authorizationHeader the authorization header containing the user's token
+     * @param exchange the current exchange, used to identify the client in the audit log
+     * @return ResponseEntity indicating the success of the logout operation
+     */
+    @PostMapping(value = "/logout")
+    public Mono<ResponseEntity<Object>> logout(@RequestHeader("Authorization") String authorizationHeader, ServerWebExchange exchange) {
+        return endpointMetrics.record("logout", Mono.defer(() -> {
+            String token = authorizationHeader.replace("Bearer ", "");
+
+            return reactiveTokenService.revokeToken(token)
+                    .flatMap(revoked -> Mono.fromRunnable(() -> refreshTokenService.logout(revoked))
+                            .subscribeOn(Schedulers.boundedElastic())
+                            .doOnSuccess(done -> auditLog.record(AuditEventType.LOGOUT, revoked.getSubject(), clientIp(exchange))))
+                    .thenReturn(ResponseEntity.status(HttpStatus.OK).build());
+        }));
+    }
+
+    /**
+     * Logs the user out of every session by revoking all tokens issued to them so far.
+     *
+     * @param authorizationHeader the authorization header containing one of the user's tokens
+     * @param exchange the current exchange, used to identify the client in the audit log
+     * @return ResponseEntity indicating the success of the operation
+     */
+    @PostMapping(value = "/logout-all")
+    public Mono<ResponseEntity<Object>> logoutAll(@RequestHeader("Authorization") String authorizationHeader, ServerWebExchange exchange) {
+        return endpointMetrics.record("logout_all", Mono.defer(() -> {
+            String token = authorizationHeader.replace("Bearer ", "");
+
+            return reactiveTokenService.verifyToken(token)
+                    .flatMap(decodedToken -> Mono.fromRunnable(() -> tokenService.revokeAllTokens(token))
+                            .subscribeOn(Schedulers.boundedElastic())
+                            .doOnSuccess(done -> auditLog.record(AuditEventType.LOGOUT_ALL, decodedToken.getSubject(), clientIp(exchange)))
+                            .thenReturn(ResponseEntity.status(HttpStatus.OK).build()))
+                    .defaultIfEmpty(ResponseEntity.status(HttpStatus.UNAUTHORIZED).build());
+        }));
+    }
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<Object> validationFailed(WebExchangeBindException e) {
+        return ResponseEntity.badRequest().body(e.getAllErrors().get(0).getDefaultMessage());
+    }
+
+    /**
+     * Sheds load when the password hashing pool is saturated, as in {@link AuthController}.
+     *
+     * @param e the rejection raised by the hashing pool
+     * @return ResponseEntity with status 503 and a Retry-After header
+     */
+    @ExceptionHandler(PasswordHashingRejectedException.class)
+    public ResponseEntity<Object> passwordHashingRejected(PasswordHashingRejectedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body("Service busy, try again later");
+    }
+
+    private ResponseEntity<Object> tooManyRequests() {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "60")
+                .body("Too many requests, try again later");
+    }
+
+    private static String clientIp(ServerWebExchange exchange) {
+        InetSocketAddress remoteAddress = exchange.getRequest().getRemoteAddress();
+        return remoteAddress != null ? remoteAddress.getAddress().getHostAddress() : "unknown";
+    }
+
+    private static Locale locale(ServerWebExchange exchange) {
+        Locale locale = exchange.getLocaleContext().getLocale();
+        return locale != null ? locale : Locale.getDefault();
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.auth_service.entities.emails;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "email_outbox")
+@CompoundIndex(name = "status_next_attempt", def = "{ 'status': 1, 'nextAttemptAt': 1 }")
+public class EmailOutboxMessage {
+    @Id
+    private String id;
+
+    private String to;
+    private String subject;
+    private String body;
+
+    private EmailStatus status;
+    private int attempts;
+    private Instant nextAttemptAt;
+    private Instant lockedUntil;
+    private String lastError;
+    private Instant createdAt;
+
+    public EmailOutboxMessage(String to, String subject, String body) {
+        this.to = to;
+        this.subject = subject;
+        this.body = body;
+        this.status = EmailStatus.PENDING;
+        this.attempts = 0;
+        this.createdAt = Instant.now();
+        this.nextAttemptAt = this.createdAt;
+    }
+}
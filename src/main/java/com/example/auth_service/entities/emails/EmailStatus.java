@@ -0,0 +1,7 @@
+package com.example.auth_service.entities.emails;
+
+public enum EmailStatus {
+    PENDING,
+    SENDING,
+    DEAD
+}
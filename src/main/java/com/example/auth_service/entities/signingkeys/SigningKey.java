@@ -0,0 +1,39 @@
+package com.example.auth_service.entities.signingkeys;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * A JWT signing key pair. The key signs new tokens between {@code notBefore} and
+ * {@code notAfter}, and is published for verification until {@code expiresAt}. The private key is
+ * stored encrypted.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "signing_keys")
+public class SigningKey {
+    @Id
+    private String kid;
+
+    private String algorithm;
+
+    /** X.509 SubjectPublicKeyInfo, base64 */
+    private String publicKey;
+
+    /** AES-GCM encrypted PKCS#8 private key, base64 of IV followed by ciphertext */
+    private String encryptedPrivateKey;
+
+    private Instant notBefore;
+    private Instant notAfter;
+
+    @Indexed
+    private Instant expiresAt;
+}
@@ -5,16 +5,13 @@ import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
-import java.time.Instant;
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.List;
 
 @Data
 @NoArgsConstructor
@@ -25,13 +22,15 @@ public class User implements UserDetails {
     @Id
     private String id;
 
+    @Indexed(unique = true)
     private String name;
+
+    @Indexed(unique = true)
     private String email;
+
     private String password;
     private UserRole role;
 
-    private String verificationCode;
-    private Instant verificationCodeExpiresAt;
     private boolean enabled;
 
     public User(String name, String email, String password) {
@@ -42,12 +41,7 @@ public class User implements UserDetails {
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        List<SimpleGrantedAuthority> roles = new ArrayList<>();
-        roles.add(new SimpleGrantedAuthority("ROLE_USER"));
-
-        if (this.role == UserRole.ADMIN) roles.add(new SimpleGrantedAuthority("ROLES_ADMIN"));
-
-        return roles;
+        return (this.role == null ? UserRole.USER : this.role).getAuthorities();
     }
 
     @Override
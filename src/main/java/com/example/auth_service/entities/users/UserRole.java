@@ -1,17 +1,34 @@
 package com.example.auth_service.entities.users;
 
+import java.util.List;
+
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
 public enum UserRole {
-    ADMIN("admin"),
-    USER("user");
+    ADMIN("admin", List.of(new SimpleGrantedAuthority("ROLE_USER"), new SimpleGrantedAuthority("ROLES_ADMIN"))),
+    USER("user", List.of(new SimpleGrantedAuthority("ROLE_USER")));
 
     private String role;
+    private List<SimpleGrantedAuthority> authorities;
 
-    UserRole(String role) {
+    UserRole(String role, List<SimpleGrantedAuthority> authorities) {
         this.role = role;
+        this.authorities = authorities;
     }
 
     public String getRole() {
         return this.role;
     }
+
+    public List<SimpleGrantedAuthority> getAuthorities() {
+        return this.authorities;
+    }
+
+    public static UserRole fromRole(String role) {
+        for (UserRole userRole : values()) {
+            if (userRole.role.equals(role)) return userRole;
+        }
+        throw new IllegalArgumentException("Unknown role: " + role);
+    }
 }
 
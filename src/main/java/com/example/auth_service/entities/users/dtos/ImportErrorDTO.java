@@ -0,0 +1,11 @@
+package com.example.auth_service.entities.users.dtos;
+
+/**
+ * A rejected import row, identified by its line number in the input.
+ */
+public record ImportErrorDTO(
+    long line,
+    String email,
+    String error
+) {
+}
@@ -0,0 +1,9 @@
+package com.example.auth_service.entities.users.dtos;
+
+public record ImportProgressDTO(
+    long processed,
+    long imported,
+    long failed,
+    boolean done
+) {
+}
@@ -0,0 +1,29 @@
+package com.example.auth_service.entities.users.dtos;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+/**
+ * One user of a bulk import. The password may be raw or an existing BCrypt hash; role defaults to
+ * {@code user} and enabled to true.
+ */
+public record ImportRowDTO(
+
+    @NotBlank
+    @Size(min = 3, max = 30, message = "Username must be between 3 and 30 characters")
+    String name,
+
+    @NotBlank
+    @Email(message = "Email is not valid")
+    String email,
+
+    @NotBlank(message = "Password is required")
+    String password,
+
+    String role,
+
+    Boolean enabled
+
+) {
+}
@@ -0,0 +1,6 @@
+package com.example.auth_service.entities.users.dtos;
+
+import java.util.List;
+
+public record IntrospectRequestDTO(List<String> tokens) {
+}
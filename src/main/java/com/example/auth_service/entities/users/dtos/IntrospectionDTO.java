@@ -0,0 +1,14 @@
+package com.example.auth_service.entities.users.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record IntrospectionDTO(
+    boolean active,
+    String sub,
+    String role,
+    String id,
+    Long exp
+) {
+    public static final IntrospectionDTO INACTIVE = new IntrospectionDTO(false, null, null, null, null);
+}
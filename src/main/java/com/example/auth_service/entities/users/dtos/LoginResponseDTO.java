@@ -1,4 +1,4 @@
 package com.example.auth_service.entities.users.dtos;
 
-public record LoginResponseDTO(String token) {
+public record LoginResponseDTO(String token, String refreshToken) {
 }
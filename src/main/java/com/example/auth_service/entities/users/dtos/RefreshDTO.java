@@ -0,0 +1,4 @@
+package com.example.auth_service.entities.users.dtos;
+
+public record RefreshDTO(String refreshToken) {
+}
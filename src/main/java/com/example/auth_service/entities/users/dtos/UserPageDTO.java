@@ -0,0 +1,12 @@
+package com.example.auth_service.entities.users.dtos;
+
+import java.util.List;
+
+/**
+ * A page of users and the cursor for the next one, null on the last page.
+ */
+public record UserPageDTO(
+    List<UserSummaryDTO> users,
+    String next
+) {
+}
@@ -0,0 +1,21 @@
+package com.example.auth_service.entities.users.dtos;
+
+import com.example.auth_service.entities.users.User;
+
+public record UserSummaryDTO(
+    String id,
+    String name,
+    String email,
+    String role,
+    boolean enabled
+) {
+    public static UserSummaryDTO of(User user) {
+        return new UserSummaryDTO(
+            user.getId(),
+            user.getName(),
+            user.getEmail(),
+            user.getRole() != null ? user.getRole().getRole() : null,
+            user.isEnabled()
+        );
+    }
+}
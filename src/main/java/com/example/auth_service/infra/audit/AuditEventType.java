@@ -0,0 +1,33 @@
+package com.example.auth_service.infra.audit;
+
+/**
+ * Security events kept in the audit log. The codes are part of the on-disk format: new types get
+ * new codes, and existing codes are never reused.
+ */
+public enum AuditEventType {
+    LOGIN(1),
+    LOGIN_FAILED(2),
+    LOGOUT(3),
+    LOGOUT_ALL(4),
+    USER_REMOVED(5);
+
+    private final byte code;
+
+    AuditEventType(int code) {
+        this.code = (byte) code;
+    }
+
+    public byte code() {
+        return code;
+    }
+
+    /**
+     * @return the type stored under the code, or null for a code this version does not know
+     */
+    public static AuditEventType fromCode(byte code) {
+        for (AuditEventType type : values()) {
+            if (type.code == code) return type;
+        }
+        return null;
+    }
+}
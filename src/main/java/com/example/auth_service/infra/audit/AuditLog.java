@@ -0,0 +1,94 @@
+package com.example.auth_service.infra.audit;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Append-only trail of security events for compliance.
+ *
+ * Request threads only encode the event into a slot of a lock-free ring buffer, so recording never
+ * waits on the disk. A single writer thread appends the records to memory-mapped segments under
+ * {@code api.audit.directory}; read them back with {@link AuditLogReader}. If the writer falls
+ * behind until the ring is full, events are dropped and counted in {@code auth.audit.dropped}
+ * rather than slowing the request down.
+ */
+@Component
+public class AuditLog {
+
+    private final boolean enabled;
+    private final AuditRingBuffer ring;
+    private final AuditSegmentWriter writer;
+    private final Counter dropped;
+
+    private Thread writerThread;
+
+    public AuditLog(
+        MeterRegistry meterRegistry,
+        @Value("${api.audit.enabled}") boolean enabled,
+        @Value("${api.audit.directory}") String directory,
+        @Value("${api.audit.ring-capacity}") int ringCapacity,
+        @Value("${api.audit.batch-size}") int batchSize,
+        @Value("${api.audit.segment-size-bytes}") long segmentBytes,
+        @Value("${api.audit.fsync-interval-ms}") long fsyncIntervalMillis,
+        @Value("${api.audit.max-segments}") int maxSegments
+    ) {
+        this.enabled = enabled;
+        this.ring = new AuditRingBuffer(ringCapacity);
+        this.writer = new AuditSegmentWriter(
+            ring,
+            Path.of(directory),
+            segmentBytes,
+            batchSize,
+            fsyncIntervalMillis,
+            maxSegments,
+            Timer.builder("auth.audit.fsync").publishPercentileHistogram().register(meterRegistry)
+        );
+        this.dropped = meterRegistry.counter("auth.audit.dropped");
+        Gauge.builder("auth.audit.backlog", ring, AuditRingBuffer::backlog).register(meterRegistry);
+    }
+
+    /**
+     * Records an event without blocking.
+     *
+     * @param type the event type
+     * @param subject who the event is about, usually the email
+     * @param address the client address, or null when there is no client
+     */
+    public void record(AuditEventType type, String subject, String address) {
+        if (!enabled) return;
+        if (!ring.offer(System.currentTimeMillis(), type, subject, address)) dropped.increment();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) return;
+
+        try {
+            writer.open();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open the audit log", e);
+        }
+        writerThread = Thread.ofPlatform().name("audit-writer").daemon().start(writer);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (writerThread == null) return;
+
+        writer.stop();
+        writerThread.join(TimeUnit.SECONDS.toMillis(10));
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.auth_service.infra.audit;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Reads the segments written by {@link AuditSegmentWriter}, oldest first. Also a command-line
+ * query tool that needs only the JDK, so it can run next to a live service:
+ *
+ * <pre>
+ * java -cp app.jar com.example.auth_service.infra.audit.AuditLogReader audit \
+ *     [--from 2026-01-01T00:00:00Z] [--to 2026-01-02T00:00:00Z] \
+ *     [--type LOGIN_FAILED] [--subject user@example.com] [--address 203.0.113.7]
+ * </pre>
+ *
+ * Matching events are printed one per line, tab-separated.
+ */
+public final class AuditLogReader {
+
+    private static final String PREFIX = "audit-";
+    private static final String SUFFIX = ".seg";
+
+    private AuditLogReader() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0 || args.length % 2 == 0) {
+            System.err.println("Usage: AuditLogReader <directory> [--from <instant>] [--to <instant>]"
+                + " [--type <type>] [--subject <subject>] [--address <address>]");
+            System.exit(2);
+        }
+
+        Predicate<AuditRecord> filter = record -> true;
+        for (int i = 1; i < args.length; i += 2) {
+            String value = args[i + 1];
+            filter = filter.and(switch (args[i]) {
+                case "--from" -> {
+                    long from = Instant.parse(value).toEpochMilli();
+                    yield record -> record.timestamp() >= from;
+                }
+                case "--to" -> {
+                    long to = Instant.parse(value).toEpochMilli();
+                    yield record -> record.timestamp() < to;
+                }
+                case "--type" -> {
+                    AuditEventType type = AuditEventType.valueOf(value.toUpperCase());
+                    yield record -> record.type() == type;
+                }
+                case "--subject" -> record -> record.subject().equalsIgnoreCase(value);
+                case "--address" -> record -> record.address().equals(value);
+                default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+            });
+        }
+
+        PrintStream out = System.out;
+        read(Path.of(args[0]), filter, record -> out.println(record.format()));
+        out.flush();
+    }
+
+    /**
+     * Passes every matching record to the consumer, in write order.
+     *
+     * @param directory the audit directory
+     * @param filter which records to pass on
+     * @param consumer receives the matching records
+     */
+    public static void read(Path directory, Predicate<AuditRecord> filter, Consumer<AuditRecord> consumer) throws IOException {
+        for (Path path : segments(directory)) {
+            MappedByteBuffer segment;
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+            if (segment.capacity() < AuditSegmentWriter.HEADER_SIZE
+                    || segment.getInt(0) != AuditSegmentWriter.MAGIC
+                    || segment.getInt(8) != AuditRecord.SIZE) {
+                System.err.println("Skipping " + path + ": not an audit segment");
+                continue;
+            }
+
+            for (int offset = AuditSegmentWriter.HEADER_SIZE; offset + AuditRecord.SIZE <= segment.capacity(); offset += AuditRecord.SIZE) {
+                AuditRecord record = AuditRecord.decode(segment, offset);
+                if (record == null) break;
+                if (filter.test(record)) consumer.accept(record);
+            }
+        }
+    }
+
+    /**
+     * The segment files of a directory, oldest first.
+     */
+    static List<Path> segments(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) return List.of();
+
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                .filter(path -> {
+                    String name = path.getFileName().toString();
+                    return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+                })
+                .sorted()
+                .toList();
+        }
+    }
+
+    static String segmentName(long openedAt) {
+        return String.format("%s%020d%s", PREFIX, openedAt, SUFFIX);
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.auth_service.infra.audit;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+/**
+ * One audit event, stored as a fixed-size record:
+ *
+ * <pre>
+ *   0  timestamp, epoch millis (8 bytes)
+ *   8  event type code, 0 marks the end of the written records (1 byte)
+ *   9  subject length (1 byte)
+ *  10  address length (1 byte)
+ *  16  client address, ASCII (up to 48 bytes)
+ *  64  subject, usually the email, UTF-8 (up to 192 bytes)
+ * </pre>
+ *
+ * Longer subjects and addresses are truncated.
+ */
+public record AuditRecord(long timestamp, AuditEventType type, String subject, String address) {
+
+    public static final int SIZE = 256;
+
+    static final int TIMESTAMP = 0;
+    static final int TYPE = 8;
+    static final int SUBJECT_LENGTH = 9;
+    static final int ADDRESS_LENGTH = 10;
+    static final int ADDRESS = 16;
+    static final int MAX_ADDRESS = 48;
+    static final int SUBJECT = 64;
+    static final int MAX_SUBJECT = 192;
+
+    private static final byte[] EMPTY = new byte[0];
+
+    /**
+     * Writes a record at an absolute offset, leaving the buffer position untouched so several
+     * threads can encode into disjoint parts of one buffer.
+     */
+    static void encode(ByteBuffer buffer, int offset, long timestamp, AuditEventType type, String subject, String address) {
+        byte[] subjectBytes = subject != null ? subject.getBytes(StandardCharsets.UTF_8) : EMPTY;
+        byte[] addressBytes = address != null ? address.getBytes(StandardCharsets.US_ASCII) : EMPTY;
+        int subjectLength = Math.min(subjectBytes.length, MAX_SUBJECT);
+        int addressLength = Math.min(addressBytes.length, MAX_ADDRESS);
+
+        buffer.putLong(offset + TIMESTAMP, timestamp);
+        buffer.put(offset + TYPE, type.code());
+        buffer.put(offset + SUBJECT_LENGTH, (byte) subjectLength);
+        buffer.put(offset + ADDRESS_LENGTH, (byte) addressLength);
+        buffer.put(offset + ADDRESS, addressBytes, 0, addressLength);
+        buffer.put(offset + SUBJECT, subjectBytes, 0, subjectLength);
+    }
+
+    /**
+     * Reads the record at an absolute offset.
+     *
+     * @return the record, or null if none was written there
+     */
+    static AuditRecord decode(ByteBuffer buffer, int offset) {
+        byte code = buffer.get(offset + TYPE);
+        if (code == 0) return null;
+
+        byte[] subject = new byte[buffer.get(offset + SUBJECT_LENGTH) & 0xFF];
+        byte[] address = new byte[buffer.get(offset + ADDRESS_LENGTH) & 0xFF];
+        buffer.get(offset + SUBJECT, subject);
+        buffer.get(offset + ADDRESS, address);
+
+        return new AuditRecord(
+            buffer.getLong(offset + TIMESTAMP),
+            AuditEventType.fromCode(code),
+            new String(subject, StandardCharsets.UTF_8),
+            new String(address, StandardCharsets.US_ASCII)
+        );
+    }
+
+    /**
+     * One tab-separated line: ISO timestamp, type, subject and address.
+     */
+    public String format() {
+        return Instant.ofEpochMilli(timestamp) + "\t" + (type != null ? type : "UNKNOWN") + "\t" + subject + "\t" + address;
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.auth_service.infra.audit;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded, lock-free ring of {@link AuditRecord} slots for many producers and a single consumer.
+ *
+ * A producer claims a slot by advancing the tail with a CAS, encodes its record straight into the
+ * slot and publishes it by writing the slot's sequence. The consumer copies published slots out in
+ * order and hands them back by advancing their sequence a lap. When the ring is full a producer
+ * gives up immediately instead of waiting.
+ */
+final class AuditRingBuffer {
+
+    private final int capacity;
+    private final int mask;
+    private final byte[] slotBytes;
+    private final ByteBuffer slots;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * Only written by the consumer.
+     */
+    private volatile long head;
+
+    AuditRingBuffer(int capacity) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Audit ring capacity must be a power of two: " + capacity);
+        }
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.slotBytes = new byte[capacity * AuditRecord.SIZE];
+        this.slots = ByteBuffer.wrap(slotBytes);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) sequences.set(i, i);
+    }
+
+    /**
+     * Adds a record without blocking.
+     *
+     * @return false if the ring is full and the record was dropped
+     */
+    boolean offer(long timestamp, AuditEventType type, String subject, String address) {
+        long position = tail.get();
+        int index;
+        while (true) {
+            index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) break;
+                position = tail.get();
+            } else if (difference < 0) {
+                // The consumer has not freed this slot since the previous lap
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+
+        AuditRecord.encode(slots, index * AuditRecord.SIZE, timestamp, type, subject, address);
+        sequences.set(index, position + 1);
+        return true;
+    }
+
+    /**
+     * Copies published records, in order, to the position of the target buffer. Called by the
+     * consumer thread only.
+     *
+     * @param target the buffer written to
+     * @param maxRecords the most records to copy
+     * @return the number of records copied
+     */
+    int drainTo(ByteBuffer target, int maxRecords) {
+        long position = head;
+        int drained = 0;
+
+        while (drained < maxRecords) {
+            int index = (int) (position & mask);
+            if (sequences.get(index) != position + 1) break;
+
+            target.put(slotBytes, index * AuditRecord.SIZE, AuditRecord.SIZE);
+            sequences.set(index, position + capacity);
+            position++;
+            drained++;
+        }
+        head = position;
+        return drained;
+    }
+
+    /**
+     * Records claimed but not yet drained.
+     */
+    long backlog() {
+        return Math.max(tail.get() - head, 0);
+    }
+}
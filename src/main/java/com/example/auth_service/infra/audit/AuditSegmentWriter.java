@@ -0,0 +1,163 @@
+package com.example.auth_service.infra.audit;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * The single consumer of an {@link AuditRingBuffer}: appends drained records, in batches, to
+ * memory-mapped segment files and forces the written range to disk at a fixed interval.
+ *
+ * A segment is a file of a fixed size named after the time it was opened. It starts with a header
+ * record and is filled with records until full, then the next one is opened. On startup the
+ * latest segment is resumed after its last written record. A process crash loses only the records
+ * still in the ring; a machine crash can also lose up to one fsync interval of written records.
+ */
+final class AuditSegmentWriter implements Runnable {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditSegmentWriter.class);
+
+    static final int MAGIC = 0x41554454;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = AuditRecord.SIZE;
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(200);
+    private static final long ERROR_PARK_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final AuditRingBuffer ring;
+    private final Path directory;
+    private final int segmentBytes;
+    private final int batchSize;
+    private final long fsyncIntervalNanos;
+    private final int maxSegments;
+    private final Timer fsyncTimer;
+
+    private MappedByteBuffer segment;
+    private int forcedUpTo;
+    private long lastForce;
+
+    private volatile boolean running = true;
+
+    AuditSegmentWriter(
+        AuditRingBuffer ring,
+        Path directory,
+        long segmentBytes,
+        int batchSize,
+        long fsyncIntervalMillis,
+        int maxSegments,
+        Timer fsyncTimer
+    ) {
+        this.ring = ring;
+        this.directory = directory;
+        // Whole records only, and within what a single mapping can address
+        this.segmentBytes = (int) (Math.min(segmentBytes, Integer.MAX_VALUE) / AuditRecord.SIZE * AuditRecord.SIZE);
+        this.batchSize = batchSize;
+        this.fsyncIntervalNanos = TimeUnit.MILLISECONDS.toNanos(fsyncIntervalMillis);
+        this.maxSegments = maxSegments;
+        this.fsyncTimer = fsyncTimer;
+    }
+
+    @Override
+    public void run() {
+        while (running || ring.backlog() > 0) {
+            try {
+                if (segment == null || !segment.hasRemaining()) rotate();
+
+                int drained = ring.drainTo(segment, Math.min(batchSize, segment.remaining() / AuditRecord.SIZE));
+                if (System.nanoTime() - lastForce >= fsyncIntervalNanos) force();
+                if (drained == 0) LockSupport.parkNanos(IDLE_PARK_NANOS);
+
+            } catch (IOException | RuntimeException e) {
+                // Events keep queueing in the ring, and are dropped once it fills
+                logger.error("Audit log write to {} failed", directory, e);
+                segment = null;
+                LockSupport.parkNanos(ERROR_PARK_NANOS);
+            }
+        }
+        if (segment != null) force();
+    }
+
+    /**
+     * Asks the writer to drain what is left in the ring, flush and return.
+     */
+    void stop() {
+        running = false;
+    }
+
+    /**
+     * Resumes the latest segment if it has room, so a restart does not leave a mostly empty file.
+     */
+    void open() throws IOException {
+        Files.createDirectories(directory);
+        List<Path> segments = AuditLogReader.segments(directory);
+        if (segments.isEmpty()) return;
+
+        Path latest = segments.get(segments.size() - 1);
+        if (Files.size(latest) != segmentBytes) return;
+
+        MappedByteBuffer mapped = map(latest);
+        if (mapped.getInt(0) != MAGIC || mapped.getInt(4) != VERSION || mapped.getInt(8) != AuditRecord.SIZE) return;
+
+        int position = HEADER_SIZE;
+        while (position < segmentBytes && mapped.get(position + AuditRecord.TYPE) != 0) {
+            position += AuditRecord.SIZE;
+        }
+        mapped.position(position);
+        segment = mapped;
+        forcedUpTo = position;
+        logger.info("Resuming audit segment {} at record {}", latest.getFileName(), (position - HEADER_SIZE) / AuditRecord.SIZE);
+    }
+
+    private void rotate() throws IOException {
+        if (segment != null) force();
+
+        long openedAt = System.currentTimeMillis();
+        Path path;
+        while (Files.exists(path = directory.resolve(AuditLogReader.segmentName(openedAt)))) openedAt++;
+
+        MappedByteBuffer mapped = map(path);
+        mapped.putInt(0, MAGIC).putInt(4, VERSION).putInt(8, AuditRecord.SIZE);
+        mapped.position(HEADER_SIZE);
+        segment = mapped;
+        forcedUpTo = 0;
+        force();
+
+        if (maxSegments > 0) deleteOldSegments();
+    }
+
+    private MappedByteBuffer map(Path path) throws IOException {
+        // The mapping stays valid once the channel is closed
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+        }
+    }
+
+    private void force() {
+        int position = segment.position();
+        if (position > forcedUpTo) {
+            int from = forcedUpTo;
+            fsyncTimer.record(() -> segment.force(from, position - from));
+            forcedUpTo = position;
+        }
+        lastForce = System.nanoTime();
+    }
+
+    private void deleteOldSegments() throws IOException {
+        List<Path> segments = AuditLogReader.segments(directory);
+        for (int i = 0; i < segments.size() - maxSegments; i++) {
+            Files.deleteIfExists(segments.get(i));
+        }
+    }
+}
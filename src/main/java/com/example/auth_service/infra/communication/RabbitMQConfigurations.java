@@ -1,15 +1,18 @@
 package com.example.auth_service.infra.communication;
 
-import org.springframework.amqp.core.AmqpTemplate;
+import org.springframework.amqp.core.AcknowledgeMode;
 import org.springframework.amqp.core.Binding;
 import org.springframework.amqp.core.BindingBuilder;
 import org.springframework.amqp.core.DirectExchange;
 import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueBuilder;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -38,6 +41,27 @@ public class RabbitMQConfigurations {
         return new Queue(AUTH_QUEUE, true);
     }
 
+    /**
+     * Holds user-deletion messages whose batch failed for {@code retry-delay-ms}, then dead-letters
+     * them back onto the auth queue through the default exchange.
+     */
+    @Bean
+    public Queue authRetryQueue(@Value("${spring.rabbitmq.user-deletion.retry-delay-ms}") long retryDelayMillis) {
+        return QueueBuilder.durable(AUTH_QUEUE + ".retry")
+            .ttl((int) retryDelayMillis)
+            .deadLetterExchange("")
+            .deadLetterRoutingKey(AUTH_QUEUE)
+            .build();
+    }
+
+    /**
+     * Parks user-deletion messages that failed {@code max-attempts} times, for inspection.
+     */
+    @Bean
+    public Queue authDeadQueue() {
+        return new Queue(AUTH_QUEUE + ".dead", true);
+    }
+
     @Bean
     DirectExchange exchange() {
         return new DirectExchange(EXCHANGE);
@@ -54,9 +78,36 @@ public class RabbitMQConfigurations {
     }
 
     @Bean
-    public AmqpTemplate amqpTemplate(ConnectionFactory connectionFactory) {
+    public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory) {
         final RabbitTemplate rabbitTemplate = new RabbitTemplate(connectionFactory);
         rabbitTemplate.setMessageConverter(jsonMessageConverter());
         return rabbitTemplate;
     }
-}
\ No newline at end of file
+
+    /**
+     * Batch listener for user-deletion messages. Built through Boot's configurer so the
+     * {@code spring.rabbitmq.listener.simple.*} and virtual-thread settings still apply.
+     */
+    @Bean
+    public SimpleRabbitListenerContainerFactory userDeletionListenerContainerFactory(
+        SimpleRabbitListenerContainerFactoryConfigurer configurer,
+        ConnectionFactory connectionFactory,
+        @Value("${spring.rabbitmq.user-deletion.batch-size}") int batchSize,
+        @Value("${spring.rabbitmq.user-deletion.receive-timeout-ms}") long receiveTimeoutMillis,
+        @Value("${spring.rabbitmq.user-deletion.prefetch}") int prefetch,
+        @Value("${spring.rabbitmq.user-deletion.concurrency}") int concurrency,
+        @Value("${spring.rabbitmq.user-deletion.max-concurrency}") int maxConcurrency
+    ) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(batchSize);
+        factory.setReceiveTimeout(receiveTimeoutMillis);
+        factory.setPrefetchCount(prefetch);
+        factory.setConcurrentConsumers(concurrency);
+        factory.setMaxConcurrentConsumers(maxConcurrency);
+        factory.setAcknowledgeMode(AcknowledgeMode.MANUAL);
+        return factory;
+    }
+}
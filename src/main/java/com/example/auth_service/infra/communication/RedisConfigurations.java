@@ -0,0 +1,52 @@
+package com.example.auth_service.infra.communication;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import com.example.auth_service.infra.security.RevokedTokenCache;
+import com.example.auth_service.infra.security.SigningKeyManager;
+import com.example.auth_service.infra.security.TokenEpochCache;
+import com.example.auth_service.infra.security.UserDetailsCache;
+import com.example.auth_service.infra.security.UserStatusCache;
+
+@Configuration
+public class RedisConfigurations {
+
+    @Value("${api.security.revocation.channel}")
+    private String REVOCATION_CHANNEL;
+
+    @Value("${api.security.epoch.channel}")
+    private String EPOCH_CHANNEL;
+
+    @Value("${api.security.filter.status-cache.channel}")
+    private String USER_STATUS_CHANNEL;
+
+    @Value("${api.security.user-cache.channel}")
+    private String USER_DETAILS_CHANNEL;
+
+    @Value("${api.security.token.key-channel}")
+    private String SIGNING_KEY_CHANNEL;
+
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(
+        RedisConnectionFactory connectionFactory,
+        RevokedTokenCache revokedTokenCache,
+        TokenEpochCache tokenEpochCache,
+        UserStatusCache userStatusCache,
+        UserDetailsCache userDetailsCache,
+        SigningKeyManager signingKeyManager
+    ) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(revokedTokenCache, new ChannelTopic(REVOCATION_CHANNEL));
+        container.addMessageListener(tokenEpochCache, new ChannelTopic(EPOCH_CHANNEL));
+        container.addMessageListener(userStatusCache, new ChannelTopic(USER_STATUS_CHANNEL));
+        container.addMessageListener(userDetailsCache, new ChannelTopic(USER_DETAILS_CHANNEL));
+        container.addMessageListener(signingKeyManager, new ChannelTopic(SIGNING_KEY_CHANNEL));
+        return container;
+    }
+}
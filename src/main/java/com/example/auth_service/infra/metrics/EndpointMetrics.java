@@ -0,0 +1,108 @@
+package com.example.auth_service.infra.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import com.example.auth_service.infra.security.PasswordHashingRejectedException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.publisher.Mono;
+
+/**
+ * Times the auth endpoints by business outcome.
+ *
+ * {@code http.server.requests} only knows the status code, which cannot tell a wrong verification
+ * code from an expired one, or bad credentials from an unverified account. Here every call is
+ * recorded in {@code auth.endpoint} with percentile histograms, tagged with the endpoint and an
+ * outcome derived from the response. Each endpoint and outcome pair is registered once and its
+ * timer reused afterwards.
+ */
+@Component
+public class EndpointMetrics {
+
+    private static final Map<String, String> OUTCOMES_BY_MESSAGE = Map.of(
+        "Wrong validation code", "wrong_code",
+        "Validation code expired", "expired_code",
+        "Too many wrong codes, request a new one", "too_many_attempts",
+        "User already verified", "already_verified",
+        "Unverified or incorrect credentials", "bad_credentials",
+        "Username or email already used", "duplicate_user",
+        "Invalid refresh token", "invalid_refresh_token",
+        "Too many requests, try again later", "rate_limited",
+        "Service busy, try again later", "busy"
+    );
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Map<String, Timer>> timers = new ConcurrentHashMap<>();
+
+    public EndpointMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Runs a servlet endpoint and records its latency and outcome.
+     *
+     * @param endpoint the endpoint name, e.g. {@code login}
+     * @param handler the endpoint logic
+     * @return the handler response
+     */
+    @SuppressWarnings("rawtypes")
+    public ResponseEntity record(String endpoint, Supplier<ResponseEntity> handler) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            ResponseEntity response = handler.get();
+            sample.stop(timer(endpoint, outcomeOf(response)));
+            return response;
+        } catch (RuntimeException e) {
+            sample.stop(timer(endpoint, outcomeOf(e)));
+            throw e;
+        }
+    }
+
+    /**
+     * Reactive form of {@link #record(String, Supplier)}; timing starts on subscription.
+     */
+    public Mono<ResponseEntity<Object>> record(String endpoint, Mono<ResponseEntity<Object>> handler) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return handler
+                .doOnNext(response -> sample.stop(timer(endpoint, outcomeOf(response))))
+                .doOnError(e -> sample.stop(timer(endpoint, outcomeOf(e))));
+        });
+    }
+
+    private Timer timer(String endpoint, String outcome) {
+        return timers
+            .computeIfAbsent(endpoint, e -> new ConcurrentHashMap<>())
+            .computeIfAbsent(outcome, o -> Timer.builder("auth.endpoint")
+                .tag("endpoint", endpoint)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+
+    @SuppressWarnings("rawtypes")
+    static String outcomeOf(ResponseEntity response) {
+        if (response.getBody() instanceof String message) {
+            String outcome = OUTCOMES_BY_MESSAGE.get(message);
+            if (outcome != null) return outcome;
+        }
+
+        int status = response.getStatusCode().value();
+        if (status < 400) return "success";
+        if (status == 401) return "unauthorized";
+        if (status == 403) return "forbidden";
+        if (status == 404) return "not_found";
+        if (status < 500) return "bad_request";
+        return "error";
+    }
+
+    private static String outcomeOf(Throwable e) {
+        return e instanceof PasswordHashingRejectedException ? "busy" : "error";
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.auth_service.infra.ratelimit;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Per-endpoint throttling keyed by client IP and by email.
+ *
+ * Every request is decided locally by a lock-free {@link TokenBucket}, so the check costs a map
+ * lookup and a CAS. Accepted requests are counted per bucket and pushed to Redis in one pipelined
+ * batch per sync interval, which returns the cluster-wide count for the current window; buckets
+ * whose cluster count is over the limit are blocked on this node until the window ends.
+ *
+ * At most {@code max-keys} buckets are tracked. When the map is full, a new key triggers a sweep of
+ * idle buckets, at most once per second; if that frees no room the request is rejected, so a flood
+ * of distinct keys cannot switch the limits off.
+ */
+@Component
+public class RateLimiter {
+
+    private static final String KEY_PREFIX = "ratelimit:";
+    private static final long OVERFLOW_SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Autowired
+    private Environment environment;
+
+    @Value("${api.ratelimit.enabled}")
+    private boolean enabled;
+
+    @Value("${api.ratelimit.window-ms}")
+    private long windowMillis;
+
+    @Value("${api.ratelimit.max-keys}")
+    private int maxKeys;
+
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final Map<String, Integer> limits = new ConcurrentHashMap<>();
+
+    private final MeterRegistry meterRegistry;
+    private final Counter overflows;
+    private final AtomicLong lastOverflowSweepNanos = new AtomicLong(System.nanoTime() - OVERFLOW_SWEEP_INTERVAL_NANOS);
+
+    public RateLimiter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.overflows = meterRegistry.counter("auth.ratelimit.overflows");
+        Gauge.builder("auth.ratelimit.buckets", buckets, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * Takes one token from both the IP and the email bucket of an endpoint.
+     *
+     * @param endpoint the endpoint name, matching an {@code api.ratelimit.<endpoint>} configuration
+     * @param clientIp the client address
+     * @param email the email in the request, may be null
+     * @return false if either limit is exceeded
+     */
+    public boolean tryAcquire(String endpoint, String clientIp, String email) {
+        if (!enabled) return true;
+
+        long nowNanos = System.nanoTime();
+        long nowMillis = System.currentTimeMillis();
+
+        if (!tryAcquire(endpoint, "ip", clientIp, nowNanos, nowMillis)) return false;
+        if (email == null) return true;
+        return tryAcquire(endpoint, "email", email.toLowerCase(Locale.ROOT), nowNanos, nowMillis);
+    }
+
+    private boolean tryAcquire(String endpoint, String dimension, String value, long nowNanos, long nowMillis) {
+        String key = endpoint + ":" + dimension + ":" + value;
+
+        TokenBucket bucket = buckets.get(key);
+        if (bucket == null) {
+            // Under a flood of distinct keys make room from idle buckets, and fail closed if there is none
+            if (buckets.size() >= maxKeys && !makeRoom(nowNanos)) {
+                overflows.increment();
+                meterRegistry.counter("auth.ratelimit.rejected", "endpoint", endpoint, "dimension", dimension).increment();
+                return false;
+            }
+            int limit = limits.computeIfAbsent(endpoint + "." + dimension, this::limitFor);
+            bucket = buckets.computeIfAbsent(key, k -> new TokenBucket(limit, windowMillis));
+        }
+
+        if (bucket.tryAcquire(nowNanos, nowMillis)) return true;
+
+        meterRegistry.counter("auth.ratelimit.rejected", "endpoint", endpoint, "dimension", dimension).increment();
+        return false;
+    }
+
+    private int limitFor(String endpointAndDimension) {
+        String[] parts = endpointAndDimension.split("\\.");
+        return environment.getRequiredProperty("api.ratelimit." + parts[0] + ".per-" + parts[1], Integer.class);
+    }
+
+    /**
+     * Pushes the locally accepted counts to Redis in a single pipeline and blocks the buckets
+     * whose cluster-wide count for the current window exceeds their limit.
+     */
+    @Scheduled(fixedDelayString = "${api.ratelimit.sync-interval-ms}")
+    public void syncWithCluster() {
+        if (!enabled) return;
+
+        long window = System.currentTimeMillis() / windowMillis;
+        long windowEnd = (window + 1) * windowMillis;
+
+        List<String> keys = new ArrayList<>();
+        List<Long> counts = new ArrayList<>();
+        buckets.forEach((key, bucket) -> {
+            long count = bucket.drainUnsynced();
+            if (count > 0) {
+                keys.add(key);
+                counts.add(count);
+            }
+        });
+        if (keys.isEmpty()) return;
+
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (int i = 0; i < keys.size(); i++) {
+                byte[] redisKey = (KEY_PREFIX + keys.get(i) + ":" + window).getBytes(StandardCharsets.UTF_8);
+                incrementWithExpiry(connection, redisKey, counts.get(i));
+            }
+            return null;
+        });
+
+        for (int i = 0; i < keys.size(); i++) {
+            Object total = results.get(i * 2);
+            String key = keys.get(i);
+            String endpointAndDimension = key.substring(0, key.indexOf(':', key.indexOf(':') + 1)).replace(':', '.');
+            if (total instanceof Long clusterCount && clusterCount > limits.get(endpointAndDimension)) {
+                TokenBucket bucket = buckets.get(key);
+                if (bucket != null) bucket.blockUntil(windowEnd);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${api.ratelimit.window-ms}")
+    public void evictIdle() {
+        long now = System.nanoTime();
+        long idle = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+        buckets.values().removeIf(bucket -> bucket.isIdle(now, idle));
+    }
+
+    /**
+     * Sweeps idle buckets when the map is full, unless another sweep ran within the last second.
+     *
+     * @return true if there is room for a new bucket
+     */
+    private boolean makeRoom(long nowNanos) {
+        long last = lastOverflowSweepNanos.get();
+        if (nowNanos - last >= OVERFLOW_SWEEP_INTERVAL_NANOS && lastOverflowSweepNanos.compareAndSet(last, nowNanos)) {
+            evictIdle();
+        }
+        return buckets.size() < maxKeys;
+    }
+
+    private void incrementWithExpiry(RedisConnection connection, byte[] key, long count) {
+        connection.stringCommands().incrBy(key, count);
+        connection.keyCommands().pExpire(key, windowMillis * 2);
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.auth_service.infra.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket implemented as a generic cell rate algorithm: the only state is the
+ * theoretical arrival time of the next request, updated with a single CAS. A bucket that allows
+ * {@code capacity} requests per {@code windowMillis} refills one token every
+ * {@code windowMillis / capacity} and bursts up to {@code capacity}.
+ */
+final class TokenBucket {
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+
+    private final AtomicLong theoreticalArrival = new AtomicLong(Long.MIN_VALUE);
+    private final AtomicLong unsynced = new AtomicLong();
+
+    private volatile long blockedUntilMillis;
+    private volatile long lastUsedNanos;
+
+    TokenBucket(int capacity, long windowMillis) {
+        this.emissionIntervalNanos = windowMillis * 1_000_000L / capacity;
+        this.burstToleranceNanos = emissionIntervalNanos * capacity;
+    }
+
+    boolean tryAcquire(long nowNanos, long nowMillis) {
+        lastUsedNanos = nowNanos;
+        if (blockedUntilMillis > nowMillis) return false;
+
+        while (true) {
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, nowNanos) + emissionIntervalNanos;
+            if (next - nowNanos > burstToleranceNanos) return false;
+
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                unsynced.incrementAndGet();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Returns and resets the number of requests accepted since the last cluster sync.
+     */
+    long drainUnsynced() {
+        return unsynced.getAndSet(0);
+    }
+
+    void blockUntil(long millis) {
+        blockedUntilMillis = millis;
+    }
+
+    boolean isIdle(long nowNanos, long idleNanos) {
+        return unsynced.get() == 0 && nowNanos - lastUsedNanos > idleNanos;
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.auth_service.infra.security;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+@Configuration
+public class PasswordConfigurations {
+
+    @Bean
+    public ThrottledPasswordEncoder passwordEncoder(PasswordHashingExecutor passwordHashingExecutor) {
+        return new ThrottledPasswordEncoder(new BCryptPasswordEncoder(), passwordHashingExecutor);
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.auth_service.infra.security;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Bounded, core-sized pool that runs every password hash and match.
+ *
+ * BCrypt is pure CPU work, so running it on request threads lets a credential-stuffing burst take
+ * every core. Here at most one hash per core runs at a time, a fixed number wait in the queue, and
+ * anything beyond that (or anything that waits too long) is rejected immediately with a
+ * {@link PasswordHashingRejectedException} instead of piling up.
+ */
+@Component
+public class PasswordHashingExecutor {
+
+    private final ThreadPoolExecutor executor;
+    private final long queueTimeoutMillis;
+
+    private final MeterRegistry meterRegistry;
+    private final Timer queueWait;
+
+    public PasswordHashingExecutor(
+        @Value("${api.security.password.workers}") int workers,
+        @Value("${api.security.password.queue-capacity}") int queueCapacity,
+        @Value("${api.security.password.queue-timeout-ms}") long queueTimeoutMillis,
+        MeterRegistry meterRegistry
+    ) {
+        int threads = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+
+        this.executor = new ThreadPoolExecutor(
+            threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+                Thread thread = new Thread(runnable, "password-hashing-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy()
+        );
+        this.queueTimeoutMillis = queueTimeoutMillis;
+        this.meterRegistry = meterRegistry;
+        this.queueWait = meterRegistry.timer("auth.password.queue.wait");
+
+        Gauge.builder("auth.password.queue.size", executor, pool -> pool.getQueue().size()).register(meterRegistry);
+    }
+
+    /**
+     * Runs a hashing operation on the pool and waits for its result.
+     *
+     * @param operation name used to tag the hash-time metric, e.g. {@code encode} or {@code matches}
+     * @param task the hashing work
+     * @return the task result
+     * @throws PasswordHashingRejectedException if the pool is saturated or the queue wait times out
+     */
+    public <T> T execute(String operation, Supplier<T> task) {
+        long submittedAt = System.nanoTime();
+        Timer hashTime = meterRegistry.timer("auth.password.hash", "operation", operation);
+
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                queueWait.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                return hashTime.record(task);
+            });
+        } catch (RejectedExecutionException e) {
+            meterRegistry.counter("auth.password.rejected", "reason", "saturated").increment();
+            throw new PasswordHashingRejectedException("Password hashing pool is saturated");
+        }
+
+        try {
+            return future.get(queueTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            meterRegistry.counter("auth.password.rejected", "reason", "timeout").increment();
+            throw new PasswordHashingRejectedException("Password hashing timed out");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingRejectedException("Interrupted while waiting for password hashing");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) throw runtimeException;
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Submits a hashing operation without blocking the caller, for the reactive stack.
+     * Saturation and queue-wait timeouts complete the future with a
+     * {@link PasswordHashingRejectedException}.
+     *
+     * @param operation name used to tag the hash-time metric
+     * @param task the hashing work
+     * @return a future completed on the hashing pool
+     */
+    public <T> CompletableFuture<T> submit(String operation, Supplier<T> task) {
+        long submittedAt = System.nanoTime();
+        Timer hashTime = meterRegistry.timer("auth.password.hash", "operation", operation);
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                if (result.isDone()) return;
+                queueWait.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                try {
+                    result.complete(hashTime.record(task));
+                } catch (RuntimeException e) {
+                    result.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            meterRegistry.counter("auth.password.rejected", "reason", "saturated").increment();
+            return CompletableFuture.failedFuture(new PasswordHashingRejectedException("Password hashing pool is saturated"));
+        }
+
+        CompletableFuture<T> outcome = new CompletableFuture<>();
+        result.orTimeout(queueTimeoutMillis, TimeUnit.MILLISECONDS).whenComplete((value, error) -> {
+            if (error == null) {
+                outcome.complete(value);
+            } else if (error instanceof TimeoutException) {
+                meterRegistry.counter("auth.password.rejected", "reason", "timeout").increment();
+                outcome.completeExceptionally(new PasswordHashingRejectedException("Password hashing timed out"));
+            } else {
+                outcome.completeExceptionally(error);
+            }
+        });
+        return outcome;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
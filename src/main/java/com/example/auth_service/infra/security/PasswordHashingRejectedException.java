@@ -0,0 +1,12 @@
+package com.example.auth_service.infra.security;
+
+/**
+ * Thrown when a password hash cannot be scheduled because the hashing pool is saturated, or
+ * when it waited in the queue longer than allowed.
+ */
+public class PasswordHashingRejectedException extends RuntimeException {
+
+    public PasswordHashingRejectedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.auth_service.infra.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+
+import com.example.auth_service.repositories.ReactiveUserRepository;
+import com.example.auth_service.services.ReactiveAuthenticationService;
+import com.example.auth_service.services.ReactiveTokenService;
+
+/**
+ * Security setup for the opt-in WebFlux stack ({@code spring.main.web-application-type=reactive}).
+ */
+@Configuration
+@EnableWebFluxSecurity
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveSecurityConfigurations {
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(
+        ServerHttpSecurity httpSecurity,
+        ReactiveTokenService tokenService,
+        ReactiveUserRepository userRepository,
+        UserStatusCache userStatusCache,
+        @Value("${api.security.filter.claims-only}") boolean claimsOnly
+    ) {
+        var securityFilter = new ReactiveSecurityFilter(tokenService, userRepository, userStatusCache, claimsOnly);
+
+        return httpSecurity
+                .csrf(csrf -> csrf.disable())
+                .httpBasic(httpBasic -> httpBasic.disable())
+                .formLogin(formLogin -> formLogin.disable())
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                .addFilterAt(securityFilter, SecurityWebFiltersOrder.AUTHENTICATION)
+                .authorizeExchange(authorize -> authorize
+                        .pathMatchers(HttpMethod.POST, "/auth/login").permitAll()
+                        .pathMatchers(HttpMethod.POST, "/auth/register").permitAll()
+                        .pathMatchers(HttpMethod.POST, "/auth/verify").permitAll()
+                        .pathMatchers(HttpMethod.POST, "/auth/resend").permitAll()
+                        .pathMatchers(HttpMethod.POST, "/auth/refresh").permitAll()
+                        .pathMatchers(HttpMethod.POST, "/auth/introspect").permitAll()
+                        .pathMatchers(HttpMethod.GET, "/.well-known/jwks.json").permitAll()
+                        .pathMatchers("/admin/**").hasAuthority("ROLES_ADMIN")
+                        .anyExchange().authenticated()
+                )
+                .build();
+    }
+
+    @Bean
+    public ReactiveAuthenticationManager reactiveAuthenticationManager(ReactiveAuthenticationService authenticationService) {
+        return authentication -> authenticationService
+                .authenticate(authentication.getName(), String.valueOf(authentication.getCredentials()))
+                .map(user -> new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+
+    /**
+     * Tomcat is on the classpath for the servlet stack, so pin the reactive stack to Netty and its
+     * event loop explicitly.
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
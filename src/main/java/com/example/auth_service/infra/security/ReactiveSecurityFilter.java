@@ -0,0 +1,90 @@
+package com.example.auth_service.infra.security;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.example.auth_service.repositories.ReactiveUserRepository;
+import com.example.auth_service.services.ReactiveTokenService;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * WebFlux counterpart of {@link SecurityFilter}. Not a bean on purpose: it is registered once in
+ * the {@code SecurityWebFilterChain}, and a {@code WebFilter} bean would also be applied outside it.
+ */
+public class ReactiveSecurityFilter implements WebFilter {
+
+    private final ReactiveTokenService tokenService;
+    private final ReactiveUserRepository userRepository;
+    private final UserStatusCache userStatusCache;
+    private final boolean claimsOnly;
+
+    public ReactiveSecurityFilter(
+        ReactiveTokenService tokenService,
+        ReactiveUserRepository userRepository,
+        UserStatusCache userStatusCache,
+        boolean claimsOnly
+    ) {
+        this.tokenService = tokenService;
+        this.userRepository = userRepository;
+        this.userStatusCache = userStatusCache;
+        this.claimsOnly = claimsOnly;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String token = recoverToken(exchange);
+        if (token == null) return chain.filter(exchange);
+
+        return tokenService.verifyToken(token)
+            .flatMap(this::authenticate)
+            .onErrorResume(e -> Mono.empty())
+            .flatMap(authentication -> chain.filter(exchange)
+                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication))
+                .thenReturn(true))
+            .switchIfEmpty(Mono.defer(() -> unauthorized(exchange)))
+            .then();
+    }
+
+    /**
+     * Same rules as the servlet filter, with the Mongo reads going through the reactive driver.
+     */
+    private Mono<UsernamePasswordAuthenticationToken> authenticate(DecodedJWT decodedToken) {
+        String email = decodedToken.getSubject();
+
+        if (claimsOnly) {
+            Boolean cached = userStatusCache.getIfPresent(email);
+            Mono<Boolean> active = cached != null
+                ? Mono.just(cached)
+                : userRepository.findStatusByEmail(email)
+                    .map(user -> user.isEnabled())
+                    .defaultIfEmpty(false)
+                    .doOnNext(isActive -> userStatusCache.put(email, isActive));
+
+            return active.filter(Boolean::booleanValue).map(isActive -> {
+                var principal = TokenPrincipal.from(decodedToken);
+                return new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+            });
+        }
+
+        return userRepository.findPrincipalByEmail(email)
+            .map(user -> new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+
+    private Mono<Boolean> unauthorized(ServerWebExchange exchange) {
+        exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
+        return exchange.getResponse().setComplete().thenReturn(false);
+    }
+
+    String recoverToken(ServerWebExchange exchange) {
+        var authHeader = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authHeader == null) return null;
+        return authHeader.replace("Bearer ", "");
+    }
+}
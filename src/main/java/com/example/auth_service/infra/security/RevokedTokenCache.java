@@ -0,0 +1,237 @@
+package com.example.auth_service.infra.security;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.example.auth_service.repositories.RevokedTokenRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-node view of revoked tokens kept in front of {@link RevokedTokenRepository}.
+ *
+ * Tokens are tracked by a 64-bit fingerprint of their id until they expire. A fingerprint miss
+ * means the token is not revoked and Redis is never touched; a hit is only a possible positive
+ * (two ids may share a fingerprint) and is confirmed against Redis. Revocations made on other
+ * nodes arrive through Redis pub/sub, and the whole set is periodically re-read to cover missed
+ * messages. Until the first sync completes, and from an overflow of the cache until a resync
+ * has stored every revocation, every lookup goes to Redis.
+ */
+@Component
+public class RevokedTokenCache implements MessageListener {
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Value("${api.security.revocation.channel}")
+    private String channel;
+
+    @Value("${api.security.revocation.cache.max-entries}")
+    private int maxEntries;
+
+    private final Map<Long, Long> revoked = new ConcurrentHashMap<>();
+
+    private volatile boolean synced = false;
+    private volatile boolean overflowed = false;
+    private final AtomicLong overflows = new AtomicLong();
+
+    private final Counter localHits;
+    private final Counter localMisses;
+    private final Counter redisConfirmed;
+    private final Counter redisFalsePositives;
+    private final Timer redisLookup;
+    private final Timer redisBatchLookup;
+
+    public RevokedTokenCache(MeterRegistry meterRegistry) {
+        this.localHits = meterRegistry.counter("auth.revocation.local", "result", "hit");
+        this.localMisses = meterRegistry.counter("auth.revocation.local", "result", "miss");
+        this.redisConfirmed = meterRegistry.counter("auth.revocation.redis", "result", "revoked");
+        this.redisFalsePositives = meterRegistry.counter("auth.revocation.redis", "result", "not_revoked");
+        this.redisLookup = Timer.builder("auth.revocation.lookup")
+            .tag("operation", "single")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        this.redisBatchLookup = Timer.builder("auth.revocation.lookup")
+            .tag("operation", "batch")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        Gauge.builder("auth.revocation.local.size", revoked, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * Checks whether a token has been revoked, consulting Redis only for possible positives.
+     *
+     * @param token the verified token
+     * @return true if the token has been revoked
+     */
+    public boolean isRevoked(DecodedJWT token) {
+        if (!mightBeRevoked(token)) return false;
+
+        boolean isRevoked = redisLookup.record(() -> revokedTokenRepository.isRevoked(tokenId(token)));
+        recordLookup(token, isRevoked);
+        return isRevoked;
+    }
+
+    /**
+     * Batch form of {@link #isRevoked(DecodedJWT)}: every possible positive is confirmed in a
+     * single pipelined Redis call.
+     *
+     * @param tokens the verified tokens
+     * @return whether each token has been revoked, in the same order
+     */
+    public boolean[] areRevoked(List<DecodedJWT> tokens) {
+        boolean[] revoked = new boolean[tokens.size()];
+        List<Integer> candidates = new ArrayList<>();
+        for (int i = 0; i < tokens.size(); i++) {
+            if (mightBeRevoked(tokens.get(i))) candidates.add(i);
+        }
+        if (candidates.isEmpty()) return revoked;
+
+        List<String> tokenIds = candidates.stream().map(i -> tokenId(tokens.get(i))).toList();
+        List<Boolean> results = redisBatchLookup.record(() -> revokedTokenRepository.areRevoked(tokenIds));
+        for (int i = 0; i < candidates.size(); i++) {
+            int index = candidates.get(i);
+            revoked[index] = results.get(i);
+            recordLookup(tokens.get(index), revoked[index]);
+        }
+        return revoked;
+    }
+
+    /**
+     * Answers the local tier only: false means the token is definitely not revoked, true means
+     * Redis has to be asked.
+     *
+     * @param token the verified token
+     * @return whether a Redis lookup is needed
+     */
+    public boolean mightBeRevoked(DecodedJWT token) {
+        if (!synced || overflowed) return true;
+
+        Long revokedUntil = revoked.get(RevokedTokenRepository.fingerprint(tokenId(token)));
+        if (revokedUntil == null || revokedUntil < System.currentTimeMillis()) {
+            localMisses.increment();
+            return false;
+        }
+        localHits.increment();
+        return true;
+    }
+
+    /**
+     * Records the answer Redis gave for a possible positive.
+     */
+    public void recordLookup(DecodedJWT token, boolean isRevoked) {
+        if (isRevoked) {
+            redisConfirmed.increment();
+            remember(RevokedTokenRepository.fingerprint(tokenId(token)), token.getExpiresAtAsInstant().toEpochMilli());
+        } else {
+            redisFalsePositives.increment();
+        }
+    }
+
+    /**
+     * Revokes a token in Redis and notifies every node, including this one.
+     *
+     * @param token the verified token
+     */
+    public void revoke(DecodedJWT token) {
+        revokedTokenRepository.revoke(tokenId(token), token.getExpiresAtAsInstant());
+        redisTemplate.convertAndSend(channel, rememberRevoked(token));
+    }
+
+    /**
+     * Adds a freshly revoked token to the local tier.
+     *
+     * @param token the verified token
+     * @return the message to publish so the other nodes learn about the revocation
+     */
+    public String rememberRevoked(DecodedJWT token) {
+        long fingerprint = RevokedTokenRepository.fingerprint(tokenId(token));
+        long expiresAt = token.getExpiresAtAsInstant().toEpochMilli();
+        remember(fingerprint, expiresAt);
+        return fingerprint + ":" + expiresAt;
+    }
+
+    /**
+     * The id a revocation is stored under: the {@code jti} claim, or the whole token for tokens
+     * issued before ids were added.
+     */
+    public static String tokenId(DecodedJWT token) {
+        return token.getId() != null ? token.getId() : token.getToken();
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split(":");
+        if (parts.length != 2) return;
+
+        try {
+            remember(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+        } catch (NumberFormatException e) {
+            // Ignore messages that were not published by this service
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(
+        initialDelayString = "${api.security.revocation.cache.resync-interval-ms}",
+        fixedDelayString = "${api.security.revocation.cache.resync-interval-ms}"
+    )
+    public void resync() {
+        long overflowsBefore = overflows.get();
+        evictExpired();
+
+        boolean allStored = true;
+        for (Map.Entry<Long, Long> entry : revokedTokenRepository.findAllFingerprints().entrySet()) {
+            allStored &= remember(entry.getKey(), entry.getValue());
+        }
+
+        // Only a complete copy may answer "not revoked" locally again; a fingerprint refused
+        // while this ran was not necessarily in the snapshot
+        overflowed = !allStored || overflows.get() != overflowsBefore;
+        synced = true;
+    }
+
+    @Scheduled(fixedDelayString = "${api.security.revocation.cache.eviction-interval-ms}")
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        revoked.values().removeIf(expiresAt -> expiresAt < now);
+    }
+
+    /**
+     * @return false if the fingerprint was refused because the cache is full
+     */
+    private boolean remember(long fingerprint, long expiresAt) {
+        if (expiresAt < System.currentTimeMillis()) return true;
+
+        if (revoked.size() >= maxEntries && !revoked.containsKey(fingerprint)) {
+            // Dropping an entry would turn it into a false negative, so fall back to Redis until
+            // a resync has stored every revocation
+            overflows.incrementAndGet();
+            overflowed = true;
+            return false;
+        }
+        revoked.merge(fingerprint, expiresAt, Math::max);
+        return true;
+    }
+}
@@ -1,12 +1,14 @@
 package com.example.auth_service.infra.security;
 
-import com.example.auth_service.repositories.UserRepository;
+import com.auth0.jwt.interfaces.DecodedJWT;
 import com.example.auth_service.services.TokenService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -16,23 +18,29 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
 
 @Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class SecurityFilter extends OncePerRequestFilter {
 
     @Autowired
     private TokenService tokenService;
 
     @Autowired
-    private UserRepository userRepository;
+    private UserDetailsCache userDetailsCache;
+
+    @Autowired
+    private UserStatusCache userStatusCache;
+
+    @Value("${api.security.filter.claims-only}")
+    private boolean claimsOnly;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         try {
             var token = this.recoverToken(request);
             if (token != null) {
-                var subject = tokenService.validateToken(token);
-                if (subject != null) {
-                    UserDetails user = userRepository.findByEmail(subject);
-                    var authentication = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+                var decodedToken = tokenService.verifyToken(token);
+                var authentication = decodedToken != null ? this.authenticate(decodedToken) : null;
+                if (authentication != null) {
                     SecurityContextHolder.getContext().setAuthentication(authentication);
                 } else {
                     response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
@@ -45,7 +53,25 @@ public class SecurityFilter extends OncePerRequestFilter {
         }
     }
 
-    private String recoverToken(HttpServletRequest request) {
+    /**
+     * Builds the authentication for a verified token. In claims-only mode the principal comes
+     * straight from the token claims and only the cached account status is checked; otherwise
+     * the user is loaded through the near-cache.
+     */
+    private UsernamePasswordAuthenticationToken authenticate(DecodedJWT decodedToken) {
+        if (claimsOnly) {
+            if (!userStatusCache.isActive(decodedToken.getSubject())) return null;
+
+            var principal = TokenPrincipal.from(decodedToken);
+            return new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+        }
+
+        UserDetails user = userDetailsCache.findPrincipal(decodedToken.getSubject());
+        if (user == null) return null;
+        return new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+    }
+
+    String recoverToken(HttpServletRequest request) {
         var authHeader = request.getHeader("Authorization");
         if (authHeader == null) return null;
         return authHeader.replace("Bearer ", "");
@@ -0,0 +1,342 @@
+package com.example.auth_service.infra.security;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.MessageDigest;
+import java.security.PublicKey;
+import java.security.SecureRandom;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.example.auth_service.entities.signingkeys.SigningKey;
+import com.example.auth_service.repositories.SigningKeyRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Asymmetric JWT signing keys with scheduled rotation.
+ *
+ * Keys live in the {@code signing_keys} collection with their private half encrypted, and every
+ * node keeps the live ones in memory: verification is a map lookup by {@code kid} and the JWKS
+ * document is rendered once per reload. The next key is created {@code key-overlap-ms} before it
+ * starts signing, so verifiers that cache the JWKS see it before the first token signed with it;
+ * a retired key stays published until the last token it signed has expired, plus the same overlap.
+ *
+ * Keys are only reloaded on the refresh schedule and when another node announces a new key over
+ * Redis pub/sub, never while verifying a token, so a token with an unknown {@code kid} costs no I/O.
+ */
+@Component
+public class SigningKeyManager implements MessageListener {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Autowired
+    private SigningKeyRepository signingKeyRepository;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Value("${api.security.token.key-channel}")
+    private String channel;
+
+    @Value("${api.security.token.secret}")
+    private String secret;
+
+    @Value("${api.security.token.algorithm}")
+    private String algorithm;
+
+    @Value("${api.security.token.rotation-interval-ms}")
+    private long rotationIntervalMillis;
+
+    @Value("${api.security.token.key-overlap-ms}")
+    private long overlapMillis;
+
+    @Value("${api.security.token.lifetime-ms}")
+    private long tokenLifetimeMillis;
+
+    private final SecureRandom random = new SecureRandom();
+
+    private volatile Map<String, LoadedKey> keys = Map.of();
+    private volatile LoadedKey current;
+    private volatile String jwks = "{\"keys\":[]}";
+
+    private record LoadedKey(SigningKey key, Algorithm algorithm, JWTVerifier verifier) {}
+
+    /**
+     * The key new tokens are signed with.
+     */
+    public record ActiveKey(String kid, Algorithm algorithm) {}
+
+    /**
+     * How long access tokens are valid. Keys stay published for this long after they stop signing,
+     * so it is read from here by whoever sets the token expiration.
+     */
+    public long tokenLifetimeMillis() {
+        return tokenLifetimeMillis;
+    }
+
+    public ActiveKey signingKey() {
+        LoadedKey key = current;
+        if (key == null || !key.key().getNotAfter().isAfter(Instant.now())) {
+            synchronized (this) {
+                key = current;
+                if (key == null || !key.key().getNotAfter().isAfter(Instant.now())) {
+                    maintain();
+                    key = current;
+                }
+            }
+        }
+        if (key == null) throw new IllegalStateException("No signing key available");
+        return new ActiveKey(key.key().getKid(), key.algorithm());
+    }
+
+    /**
+     * Returns the verifier for a key id from memory. Keys are created {@code key-overlap-ms} before
+     * they sign, so every node has loaded a key long before the first token signed with it.
+     *
+     * @param kid the {@code kid} header of the token
+     * @return the verifier, or null if the key is unknown or expired
+     */
+    public JWTVerifier verifierFor(String kid) {
+        LoadedKey key = keys.get(kid);
+        return key != null ? key.verifier() : null;
+    }
+
+    /**
+     * The public keys as a JWK Set document.
+     */
+    public String jwks() {
+        return jwks;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(
+        initialDelayString = "${api.security.token.key-refresh-interval-ms}",
+        fixedDelayString = "${api.security.token.key-refresh-interval-ms}"
+    )
+    public void maintain() {
+        rotateIfDue();
+        reload();
+    }
+
+    /**
+     * Creates the next key once the newest one is within the overlap window of retiring. Nodes
+     * racing here may both create a key; both are published and the same one is picked to sign.
+     */
+    private void rotateIfDue() {
+        Instant now = Instant.now();
+        Instant latestNotAfter = signingKeyRepository.findByExpiresAtAfter(now).stream()
+            .map(SigningKey::getNotAfter)
+            .max(Comparator.naturalOrder())
+            .orElse(null);
+
+        if (latestNotAfter != null && latestNotAfter.isAfter(now.plusMillis(overlapMillis))) return;
+
+        Instant notBefore = latestNotAfter != null && latestNotAfter.isAfter(now) ? latestNotAfter : now;
+        SigningKey created = signingKeyRepository.save(generateKey(notBefore));
+        redisTemplate.convertAndSend(channel, created.getKid());
+    }
+
+    /**
+     * Another node created a key.
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        reload();
+    }
+
+    private void reload() {
+        load(signingKeyRepository.findByExpiresAtAfter(Instant.now()));
+    }
+
+    /**
+     * Replaces the in-memory key set.
+     *
+     * @param signingKeys the live keys
+     */
+    public void load(Collection<SigningKey> signingKeys) {
+        Instant now = Instant.now();
+        Map<String, LoadedKey> loaded = new HashMap<>();
+        List<Map<String, String>> publicKeys = new ArrayList<>();
+        LoadedKey signing = null;
+
+        for (SigningKey signingKey : signingKeys) {
+            LoadedKey key = decode(signingKey);
+            loaded.put(signingKey.getKid(), key);
+            publicKeys.add(toJwk(signingKey));
+
+            boolean canSign = !signingKey.getNotBefore().isAfter(now) && signingKey.getNotAfter().isAfter(now);
+            if (canSign && (signing == null || isNewer(signingKey, signing.key()))) signing = key;
+        }
+
+        try {
+            jwks = objectMapper.writeValueAsString(Map.of("keys", publicKeys));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not render JWKS", e);
+        }
+        keys = Map.copyOf(loaded);
+        current = signing;
+    }
+
+    private static boolean isNewer(SigningKey candidate, SigningKey current) {
+        int byStart = candidate.getNotBefore().compareTo(current.getNotBefore());
+        return byStart > 0 || (byStart == 0 && candidate.getKid().compareTo(current.getKid()) > 0);
+    }
+
+    /**
+     * Generates a key pair for the configured algorithm, signing from {@code notBefore} for one
+     * rotation interval.
+     */
+    public SigningKey generateKey(Instant notBefore) {
+        try {
+            KeyPair keyPair = switch (algorithm) {
+                case "ES256" -> {
+                    KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+                    generator.initialize(new ECGenParameterSpec("secp256r1"), random);
+                    yield generator.generateKeyPair();
+                }
+                case "RS256" -> {
+                    KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+                    generator.initialize(2048, random);
+                    yield generator.generateKeyPair();
+                }
+                default -> throw new IllegalStateException("Unsupported signing algorithm: " + algorithm);
+            };
+
+            Instant notAfter = notBefore.plusMillis(rotationIntervalMillis);
+            return new SigningKey(
+                UUID.randomUUID().toString(),
+                algorithm,
+                Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded()),
+                encrypt(keyPair.getPrivate().getEncoded()),
+                notBefore,
+                notAfter,
+                notAfter.plusMillis(tokenLifetimeMillis + overlapMillis)
+            );
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not generate signing key", e);
+        }
+    }
+
+    private LoadedKey decode(SigningKey signingKey) {
+        try {
+            String keyAlgorithm = signingKey.getAlgorithm().startsWith("ES") ? "EC" : "RSA";
+            KeyFactory keyFactory = KeyFactory.getInstance(keyAlgorithm);
+            PublicKey publicKey = keyFactory.generatePublic(
+                new X509EncodedKeySpec(Base64.getDecoder().decode(signingKey.getPublicKey()))
+            );
+            var privateKey = keyFactory.generatePrivate(
+                new PKCS8EncodedKeySpec(decrypt(signingKey.getEncryptedPrivateKey()))
+            );
+
+            Algorithm jwtAlgorithm = switch (signingKey.getAlgorithm()) {
+                case "ES256" -> Algorithm.ECDSA256((ECPublicKey) publicKey, (ECPrivateKey) privateKey);
+                case "RS256" -> Algorithm.RSA256((RSAPublicKey) publicKey, (RSAPrivateKey) privateKey);
+                default -> throw new IllegalStateException("Unsupported signing algorithm: " + signingKey.getAlgorithm());
+            };
+
+            JWTVerifier verifier = JWT.require(jwtAlgorithm).withIssuer("auth-api").build();
+            return new LoadedKey(signingKey, jwtAlgorithm, verifier);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not load signing key " + signingKey.getKid(), e);
+        }
+    }
+
+    private static Map<String, String> toJwk(SigningKey signingKey) {
+        Map<String, String> jwk = new LinkedHashMap<>();
+        try {
+            byte[] encoded = Base64.getDecoder().decode(signingKey.getPublicKey());
+            if (signingKey.getAlgorithm().startsWith("ES")) {
+                ECPublicKey publicKey = (ECPublicKey) KeyFactory.getInstance("EC").generatePublic(new X509EncodedKeySpec(encoded));
+                jwk.put("kty", "EC");
+                jwk.put("crv", "P-256");
+                jwk.put("x", base64Url(publicKey.getW().getAffineX(), 32));
+                jwk.put("y", base64Url(publicKey.getW().getAffineY(), 32));
+            } else {
+                RSAPublicKey publicKey = (RSAPublicKey) KeyFactory.getInstance("RSA").generatePublic(new X509EncodedKeySpec(encoded));
+                jwk.put("kty", "RSA");
+                jwk.put("n", base64Url(publicKey.getModulus(), (publicKey.getModulus().bitLength() + 7) / 8));
+                jwk.put("e", base64Url(publicKey.getPublicExponent(), (publicKey.getPublicExponent().bitLength() + 7) / 8));
+            }
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not read public key " + signingKey.getKid(), e);
+        }
+        jwk.put("use", "sig");
+        jwk.put("alg", signingKey.getAlgorithm());
+        jwk.put("kid", signingKey.getKid());
+        return jwk;
+    }
+
+    /**
+     * Unsigned big-endian encoding of exactly {@code length} bytes, as JWK requires.
+     */
+    private static String base64Url(BigInteger value, int length) {
+        byte[] bytes = value.toByteArray();
+        byte[] fixed = new byte[length];
+        int copy = Math.min(bytes.length, length);
+        System.arraycopy(bytes, bytes.length - copy, fixed, length - copy, copy);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(fixed);
+    }
+
+    private String encrypt(byte[] plaintext) throws GeneralSecurityException {
+        byte[] iv = new byte[12];
+        random.nextBytes(iv);
+
+        Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+        cipher.init(Cipher.ENCRYPT_MODE, keyEncryptionKey(), new GCMParameterSpec(128, iv));
+        byte[] ciphertext = cipher.doFinal(plaintext);
+
+        return Base64.getEncoder().encodeToString(ByteBuffer.allocate(iv.length + ciphertext.length).put(iv).put(ciphertext).array());
+    }
+
+    private byte[] decrypt(String encrypted) throws GeneralSecurityException {
+        byte[] bytes = Base64.getDecoder().decode(encrypted);
+
+        Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+        cipher.init(Cipher.DECRYPT_MODE, keyEncryptionKey(), new GCMParameterSpec(128, bytes, 0, 12));
+        return cipher.doFinal(bytes, 12, bytes.length - 12);
+    }
+
+    private SecretKeySpec keyEncryptionKey() throws GeneralSecurityException {
+        byte[] key = MessageDigest.getInstance("SHA-256")
+            .digest(("signing-keys:" + secret).getBytes(StandardCharsets.UTF_8));
+        return new SecretKeySpec(key, "AES");
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.auth_service.infra.security;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * {@link PasswordEncoder} that runs the delegate's hashing on the shared
+ * {@link PasswordHashingExecutor}.
+ */
+public class ThrottledPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+
+    public ThrottledPasswordEncoder(PasswordEncoder delegate, PasswordHashingExecutor passwordHashingExecutor) {
+        this.delegate = delegate;
+        this.passwordHashingExecutor = passwordHashingExecutor;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return passwordHashingExecutor.execute("encode", () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return passwordHashingExecutor.execute("matches", () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    public CompletableFuture<String> encodeAsync(CharSequence rawPassword) {
+        return passwordHashingExecutor.submit("encode", () -> delegate.encode(rawPassword));
+    }
+
+    public CompletableFuture<Boolean> matchesAsync(CharSequence rawPassword, String encodedPassword) {
+        return passwordHashingExecutor.submit("matches", () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
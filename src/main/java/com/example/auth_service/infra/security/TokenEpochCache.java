@@ -0,0 +1,135 @@
+package com.example.auth_service.infra.security;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.example.auth_service.repositories.TokenEpochRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Per-node copy of {@link TokenEpochRepository}, so checking a token's {@code ep} claim is a map
+ * lookup. Bumps made on any node are broadcast over Redis pub/sub and the whole hash is re-read
+ * periodically to cover missed messages. Until the first sync completes, lookups go to Redis.
+ */
+@Component
+public class TokenEpochCache implements MessageListener {
+
+    public static final String EPOCH_CLAIM = "ep";
+
+    @Autowired
+    private TokenEpochRepository tokenEpochRepository;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Value("${api.security.epoch.channel}")
+    private String channel;
+
+    private final Map<String, Long> epochs = new ConcurrentHashMap<>();
+
+    private volatile boolean synced = false;
+
+    public TokenEpochCache(MeterRegistry meterRegistry) {
+        Gauge.builder("auth.token.epochs.size", epochs, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * Returns the epoch new tokens for a user are issued with.
+     */
+    public long currentEpoch(String userId) {
+        if (!synced) return tokenEpochRepository.find(userId);
+        return epochs.getOrDefault(userId, 0L);
+    }
+
+    /**
+     * Whether lookups are answered from memory. Before the first sync they read Redis.
+     */
+    public boolean isSynced() {
+        return synced;
+    }
+
+    /**
+     * Checks that a token was issued at or after its user's current epoch. Tokens issued before
+     * epochs existed carry no claim and count as epoch 0.
+     *
+     * @param token the verified token
+     * @return false if every token of the user has been revoked since this one was issued
+     */
+    public boolean isCurrent(DecodedJWT token) {
+        String userId = token.getClaim("id").asString();
+        if (userId == null) return true;
+
+        Long epoch = token.getClaim(EPOCH_CLAIM).asLong();
+        return (epoch != null ? epoch : 0L) >= currentEpoch(userId);
+    }
+
+    /**
+     * Invalidates every token issued so far to a user, on every node.
+     *
+     * @param userId the user id
+     */
+    public void revokeAll(String userId) {
+        long epoch = tokenEpochRepository.increment(userId);
+        remember(userId, epoch);
+        redisTemplate.convertAndSend(channel, userId + ":" + epoch);
+    }
+
+    /**
+     * Invalidates every token issued so far to several users, with one pipelined write.
+     *
+     * @param userIds the user ids
+     */
+    public void revokeAll(Collection<String> userIds) {
+        if (userIds.isEmpty()) return;
+
+        Map<String, Long> updated = tokenEpochRepository.increment(userIds);
+        updated.forEach(this::remember);
+        redisTemplate.convertAndSend(channel, updated.entrySet().stream()
+            .map(entry -> entry.getKey() + ":" + entry.getValue())
+            .collect(Collectors.joining("\n")));
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        for (String line : new String(message.getBody(), StandardCharsets.UTF_8).split("\n")) {
+            int separator = line.lastIndexOf(':');
+            if (separator <= 0) continue;
+
+            try {
+                remember(line.substring(0, separator), Long.parseLong(line.substring(separator + 1)));
+            } catch (NumberFormatException e) {
+                // Ignore messages that were not published by this service
+            }
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(
+        initialDelayString = "${api.security.epoch.resync-interval-ms}",
+        fixedDelayString = "${api.security.epoch.resync-interval-ms}"
+    )
+    public void resync() {
+        tokenEpochRepository.findAll().forEach(this::remember);
+        synced = true;
+    }
+
+    private void remember(String userId, long epoch) {
+        epochs.merge(userId, epoch, Math::max);
+    }
+}
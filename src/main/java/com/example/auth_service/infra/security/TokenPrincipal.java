@@ -0,0 +1,28 @@
+package com.example.auth_service.infra.security;
+
+import java.util.Collection;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.example.auth_service.entities.users.UserRole;
+
+/**
+ * Lightweight principal built from the claims of a verified token, used instead of the
+ * {@link com.example.auth_service.entities.users.User} document when the filter runs in
+ * claims-only mode.
+ */
+public record TokenPrincipal(String id, String email, UserRole role) {
+
+    public static TokenPrincipal from(DecodedJWT decodedToken) {
+        return new TokenPrincipal(
+            decodedToken.getClaim("id").asString(),
+            decodedToken.getSubject(),
+            UserRole.fromRole(decodedToken.getClaim("role").asString())
+        );
+    }
+
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return role.getAuthorities();
+    }
+}
@@ -0,0 +1,230 @@
+package com.example.auth_service.infra.security;
+
+import com.example.auth_service.entities.users.User;
+import com.example.auth_service.repositories.UserRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-node near-cache of the user fields needed at login and to build an authenticated principal,
+ * keyed by email, so neither reads Mongo on every request.
+ *
+ * Unknown emails are cached too, for a shorter time, so a flood of logins for accounts that do not
+ * exist is answered locally. Every write to a user, bulk imports included, goes through
+ * {@link #invalidate(String)}, which drops the entry here and on every other node over Redis pub/sub;
+ * the TTL bounds how stale an entry can get if a message is lost. When the cache is full, the oldest
+ * of a few sampled entries is evicted.
+ */
+@Component
+public class UserDetailsCache implements MessageListener {
+
+    private static final int EVICTION_SAMPLE = 8;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Value("${api.security.user-cache.channel}")
+    private String channel;
+
+    @Value("${api.security.user-cache.ttl-ms}")
+    private long ttlMillis;
+
+    @Value("${api.security.user-cache.negative-ttl-ms}")
+    private long negativeTtlMillis;
+
+    @Value("${api.security.user-cache.max-entries}")
+    private int maxEntries;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Bumped on every invalidation, so a load that raced with one does not cache what it read.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    private final Counter hits;
+    private final Counter negativeHits;
+    private final Counter misses;
+    private final Counter evictions;
+    private final Counter invalidations;
+    private final Timer hitAge;
+    private final Timer invalidationDelay;
+
+    /**
+     * @param user the credentials projection, or null for an unknown email
+     */
+    private record Entry(User user, long loadedAt, long expiresAt) {}
+
+    public UserDetailsCache(MeterRegistry meterRegistry) {
+        this.hits = meterRegistry.counter("auth.user_cache.requests", "result", "hit");
+        this.negativeHits = meterRegistry.counter("auth.user_cache.requests", "result", "negative_hit");
+        this.misses = meterRegistry.counter("auth.user_cache.requests", "result", "miss");
+        this.evictions = meterRegistry.counter("auth.user_cache.evictions");
+        this.invalidations = meterRegistry.counter("auth.user_cache.invalidations");
+        this.hitAge = Timer.builder("auth.user_cache.hit.age")
+            .description("Age of the cached user returned on each hit")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        this.invalidationDelay = Timer.builder("auth.user_cache.invalidation.delay")
+            .description("Time from publishing an invalidation to applying it on this node")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        Gauge.builder("auth.user_cache.size", entries, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * Loads the fields needed to check a password at login.
+     *
+     * @param email the user email
+     * @return a copy of the cached user, or null if there is no such user
+     */
+    public User findCredentials(String email) {
+        User user = find(email);
+        return user != null ? copy(user, user.getPassword()) : null;
+    }
+
+    /**
+     * Loads the fields needed to build an authenticated principal, without the password hash.
+     *
+     * @param email the token subject
+     * @return a copy of the cached user, or null if there is no such user
+     */
+    public User findPrincipal(String email) {
+        User user = find(email);
+        return user != null ? copy(user, null) : null;
+    }
+
+    /**
+     * Drops the cached user on every node. Call it after any write to a user, including the
+     * insert of a new one, which may have been cached as unknown.
+     *
+     * @param email the email of the changed user
+     */
+    public void invalidate(String email) {
+        invalidate(List.of(email));
+    }
+
+    /**
+     * Drops several cached users on every node with a single message.
+     *
+     * @param emails the emails of the changed users
+     */
+    public void invalidate(Collection<String> emails) {
+        if (emails.isEmpty()) return;
+
+        emails.forEach(this::evict);
+        redisTemplate.convertAndSend(channel, message(emails));
+    }
+
+    /**
+     * Drops a cached user on this node only. Non-blocking callers publish {@link #message(Collection)}
+     * to {@link #channel()} themselves.
+     */
+    public void evict(String email) {
+        generation.incrementAndGet();
+        entries.remove(email);
+        invalidations.increment();
+    }
+
+    public String channel() {
+        return channel;
+    }
+
+    /**
+     * The invalidation message for some emails: the publishing time, then one email per line.
+     */
+    public static String message(Collection<String> emails) {
+        return System.currentTimeMillis() + "\n" + String.join("\n", emails);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] lines = new String(message.getBody(), StandardCharsets.UTF_8).split("\n");
+        if (lines.length < 2) return;
+
+        for (int i = 1; i < lines.length; i++) {
+            if (!lines[i].isEmpty()) evict(lines[i]);
+        }
+        try {
+            long delay = System.currentTimeMillis() - Long.parseLong(lines[0]);
+            invalidationDelay.record(Math.max(delay, 0), TimeUnit.MILLISECONDS);
+        } catch (NumberFormatException e) {
+            // Ignore messages that were not published by this service
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${api.security.user-cache.ttl-ms}")
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.expiresAt() <= now);
+    }
+
+    private User find(String email) {
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(email);
+        if (entry != null && entry.expiresAt() > now) {
+            if (entry.user() == null) {
+                negativeHits.increment();
+            } else {
+                hits.increment();
+                hitAge.record(Duration.ofMillis(now - entry.loadedAt()));
+            }
+            return entry.user();
+        }
+
+        misses.increment();
+        long loadedGeneration = generation.get();
+        User user = userRepository.findCredentialsByEmail(email);
+
+        if (generation.get() == loadedGeneration) {
+            long loadedAt = System.currentTimeMillis();
+            long ttl = user != null ? ttlMillis : negativeTtlMillis;
+            if (entries.size() >= maxEntries) evictOldest();
+            entries.put(email, new Entry(user, loadedAt, loadedAt + ttl));
+        }
+        return user;
+    }
+
+    private void evictOldest() {
+        String oldest = null;
+        long oldestLoadedAt = Long.MAX_VALUE;
+
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        for (int i = 0; i < EVICTION_SAMPLE && iterator.hasNext(); i++) {
+            Map.Entry<String, Entry> candidate = iterator.next();
+            if (candidate.getValue().loadedAt() < oldestLoadedAt) {
+                oldest = candidate.getKey();
+                oldestLoadedAt = candidate.getValue().loadedAt();
+            }
+        }
+        if (oldest != null && entries.remove(oldest) != null) evictions.increment();
+    }
+
+    private static User copy(User user, String password) {
+        return new User(user.getId(), user.getName(), user.getEmail(), password, user.getRole(), user.isEnabled());
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.auth_service.infra.security;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.example.auth_service.repositories.UserRepository;
+
+/**
+ * Short-lived cache of whether an account still exists and is enabled, so claims-only
+ * authentication can reject disabled or deleted users without reading Mongo on every request.
+ * Deactivations are broadcast over Redis pub/sub so every node stops accepting the account's
+ * tokens at once instead of after the TTL.
+ */
+@Component
+public class UserStatusCache implements MessageListener {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Value("${api.security.filter.status-cache.channel}")
+    private String channel;
+
+    @Value("${api.security.filter.status-cache.ttl-ms}")
+    private long ttlMillis;
+
+    @Value("${api.security.filter.status-cache.max-entries}")
+    private int maxEntries;
+
+    private final Map<String, Status> statuses = new ConcurrentHashMap<>();
+
+    private record Status(boolean active, long expiresAt) {}
+
+    /**
+     * Checks whether the account with the given email exists and is enabled.
+     *
+     * @param email the token subject
+     * @return true if the account can still authenticate
+     */
+    public boolean isActive(String email) {
+        Boolean cached = getIfPresent(email);
+        if (cached != null) return cached;
+
+        var user = userRepository.findStatusByEmail(email);
+        boolean active = user != null && user.isEnabled();
+        put(email, active);
+        return active;
+    }
+
+    /**
+     * Returns the cached status without touching Mongo, or null when it is unknown or expired.
+     */
+    public Boolean getIfPresent(String email) {
+        Status status = statuses.get(email);
+        if (status == null || status.expiresAt() <= System.currentTimeMillis()) return null;
+        return status.active();
+    }
+
+    public void put(String email, boolean active) {
+        if (statuses.size() < maxEntries) {
+            statuses.put(email, new Status(active, System.currentTimeMillis() + ttlMillis));
+        }
+    }
+
+    public void invalidate(String email) {
+        statuses.remove(email);
+    }
+
+    /**
+     * Marks accounts as inactive on every node, so tokens already issued to them are rejected
+     * without waiting for the cached status to expire.
+     *
+     * @param emails the emails of the deactivated or deleted accounts
+     */
+    public void deactivate(Collection<String> emails) {
+        if (emails.isEmpty()) return;
+
+        emails.forEach(this::markInactive);
+        redisTemplate.convertAndSend(channel, String.join("\n", emails));
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        for (String email : new String(message.getBody(), StandardCharsets.UTF_8).split("\n")) {
+            if (!email.isEmpty()) markInactive(email);
+        }
+    }
+
+    private void markInactive(String email) {
+        // Always stored, even over max-entries: dropping it would let the account authenticate again
+        statuses.put(email, new Status(false, System.currentTimeMillis() + ttlMillis));
+    }
+
+    @Scheduled(fixedDelayString = "${api.security.filter.status-cache.ttl-ms}")
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        statuses.values().removeIf(status -> status.expiresAt() <= now);
+    }
+}
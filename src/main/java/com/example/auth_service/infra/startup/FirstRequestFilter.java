@@ -0,0 +1,35 @@
+package com.example.auth_service.infra.startup;
+
+import java.io.IOException;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Reports the first servlet request to {@link TimeToFirstRequest}, ahead of the security filters.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class FirstRequestFilter extends OncePerRequestFilter {
+
+    private final TimeToFirstRequest timeToFirstRequest;
+
+    public FirstRequestFilter(TimeToFirstRequest timeToFirstRequest) {
+        this.timeToFirstRequest = timeToFirstRequest;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        timeToFirstRequest.onRequest();
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.auth_service.infra.startup;
+
+import java.util.Set;
+
+import org.springframework.boot.autoconfigure.AutoConfigurationImportFilter;
+import org.springframework.boot.autoconfigure.AutoConfigurationMetadata;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+
+/**
+ * Skips the reactive Mongo and Redis auto-configuration unless the WebFlux stack is selected with
+ * {@code spring.main.web-application-type=reactive}.
+ *
+ * Both stacks share one jar, so the reactive starters are always on the classpath. Without this
+ * filter a servlet node would also create a reactive {@code MongoClient}, with its own connection
+ * pool and Netty event loops, that nothing uses. Only the reactive beans read it.
+ */
+public class ReactiveDataAutoConfigurationFilter implements AutoConfigurationImportFilter, EnvironmentAware {
+
+    static final Set<String> REACTIVE_DATA_AUTO_CONFIGURATIONS = Set.of(
+        "org.springframework.boot.autoconfigure.mongo.MongoReactiveAutoConfiguration",
+        "org.springframework.boot.autoconfigure.data.mongo.MongoReactiveDataAutoConfiguration",
+        "org.springframework.boot.autoconfigure.data.mongo.MongoReactiveRepositoriesAutoConfiguration",
+        "org.springframework.boot.autoconfigure.data.redis.RedisReactiveAutoConfiguration"
+    );
+
+    private Environment environment;
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        this.environment = environment;
+    }
+
+    @Override
+    public boolean[] match(String[] autoConfigurationClasses, AutoConfigurationMetadata autoConfigurationMetadata) {
+        boolean reactive = "reactive".equalsIgnoreCase(environment.getProperty("spring.main.web-application-type"));
+
+        boolean[] matches = new boolean[autoConfigurationClasses.length];
+        for (int i = 0; i < autoConfigurationClasses.length; i++) {
+            // Entries already skipped by an earlier filter are null
+            String candidate = autoConfigurationClasses[i];
+            matches[i] = reactive || candidate == null || !REACTIVE_DATA_AUTO_CONFIGURATIONS.contains(candidate);
+        }
+        return matches;
+    }
+}
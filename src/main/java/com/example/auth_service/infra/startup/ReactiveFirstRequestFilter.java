@@ -0,0 +1,32 @@
+package com.example.auth_service.infra.startup;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * WebFlux counterpart of {@link FirstRequestFilter}.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveFirstRequestFilter implements WebFilter {
+
+    private final TimeToFirstRequest timeToFirstRequest;
+
+    public ReactiveFirstRequestFilter(TimeToFirstRequest timeToFirstRequest) {
+        this.timeToFirstRequest = timeToFirstRequest;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        timeToFirstRequest.onRequest();
+        return chain.filter(exchange);
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.auth_service.infra.startup;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import com.example.auth_service.entities.users.User;
+import com.example.auth_service.entities.users.UserRole;
+import com.example.auth_service.infra.security.ThrottledPasswordEncoder;
+import com.example.auth_service.services.TokenService;
+
+/**
+ * Runs token signing, signature checks and BCrypt a number of times before the service reports
+ * ready, so the first real logins do not pay for class loading and interpreted code.
+ *
+ * Runners finish before {@code ApplicationReadyEvent}, which is what moves the readiness state to
+ * accepting traffic. The flag is read here rather than through a bean condition because conditions
+ * are fixed at build time under AOT.
+ */
+@Component
+public class StartupWarmup implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(StartupWarmup.class);
+
+    private static final String PASSWORD = "warmup-password";
+
+    @Value("${api.startup.warmup.enabled}")
+    private boolean enabled;
+
+    @Value("${api.startup.warmup.iterations}")
+    private int iterations;
+
+    @Value("${api.startup.warmup.password-hashes}")
+    private int passwordHashes;
+
+    private final TokenService tokenService;
+    private final ThrottledPasswordEncoder passwordEncoder;
+
+    public StartupWarmup(TokenService tokenService, ThrottledPasswordEncoder passwordEncoder) {
+        this.tokenService = tokenService;
+        this.passwordEncoder = passwordEncoder;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) return;
+
+        long start = System.nanoTime();
+        try {
+            User user = new User("warmup", "warmup@localhost", null);
+            user.setId("warmup");
+            user.setRole(UserRole.USER);
+
+            for (int i = 0; i < iterations; i++) {
+                tokenService.verifySignature(tokenService.generateToken(user));
+            }
+
+            String hash = passwordEncoder.encode(PASSWORD);
+            for (int i = 0; i < passwordHashes; i++) {
+                passwordEncoder.matches(PASSWORD, hash);
+            }
+
+            logger.info("Warm-up finished in {} ms ({} tokens, {} password checks)",
+                (System.nanoTime() - start) / 1_000_000, iterations, passwordHashes);
+        } catch (RuntimeException e) {
+            // A failed warm-up only costs speed, never availability
+            logger.warn("Warm-up aborted after {} ms", (System.nanoTime() - start) / 1_000_000, e);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.auth_service.infra.startup;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+
+/**
+ * Records the time from JVM start to the first HTTP request, the number that matters when a node
+ * is added under load. It is logged once and exported as {@code auth.startup.time_to_first_request}.
+ */
+@Component
+public class TimeToFirstRequest {
+
+    private static final Logger logger = LoggerFactory.getLogger(TimeToFirstRequest.class);
+
+    private final AtomicBoolean seen = new AtomicBoolean();
+    private final MeterRegistry meterRegistry;
+
+    public TimeToFirstRequest(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void onRequest() {
+        if (seen.get() || !seen.compareAndSet(false, true)) return;
+
+        long millis = System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+        TimeGauge.builder("auth.startup.time_to_first_request", () -> millis, TimeUnit.MILLISECONDS)
+            .register(meterRegistry);
+        logger.info("First request {} ms after JVM start", millis);
+    }
+}
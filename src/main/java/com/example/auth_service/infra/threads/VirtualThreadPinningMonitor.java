@@ -0,0 +1,81 @@
+package com.example.auth_service.infra.threads;
+
+import java.time.Duration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * Watches for virtual threads pinned to their carrier while running in virtual-thread mode.
+ *
+ * A virtual thread that blocks inside a synchronized block or a native frame cannot unmount, so it
+ * holds a carrier thread for the whole wait. This streams the JFR {@code jdk.VirtualThreadPinned}
+ * events, counts them by the first application or driver frame, and logs the offending stack so
+ * pinning in the Mongo, Lettuce, JavaMail or AMQP drivers shows up in production metrics.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private static final int LOGGED_FRAMES = 8;
+
+    @Value("${threads.virtual.pinning-threshold-ms}")
+    private long thresholdMillis;
+
+    private final MeterRegistry meterRegistry;
+
+    private RecordingStream recordingStream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        recordingStream = new RecordingStream();
+        recordingStream.enable("jdk.VirtualThreadPinned")
+            .withThreshold(Duration.ofMillis(thresholdMillis))
+            .withStackTrace();
+        recordingStream.onEvent("jdk.VirtualThreadPinned", this::onPinned);
+        recordingStream.startAsync();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (recordingStream != null) recordingStream.close();
+    }
+
+    private void onPinned(RecordedEvent event) {
+        String site = "unknown";
+        StringBuilder stack = new StringBuilder();
+
+        if (event.getStackTrace() != null) {
+            var frames = event.getStackTrace().getFrames();
+            for (int i = 0; i < frames.size(); i++) {
+                RecordedFrame frame = frames.get(i);
+                String method = frame.getMethod().getType().getName() + "." + frame.getMethod().getName();
+                if ("unknown".equals(site) && !method.startsWith("java.") && !method.startsWith("jdk.")) {
+                    site = method;
+                }
+                if (i < LOGGED_FRAMES) stack.append("\n\tat ").append(method).append(':').append(frame.getLineNumber());
+            }
+        }
+
+        meterRegistry.counter("auth.virtualthreads.pinned", "site", site).increment();
+        meterRegistry.timer("auth.virtualthreads.pinned.duration").record(event.getDuration());
+        logger.warn("Virtual thread pinned for {} ms at {}{}", event.getDuration().toMillis(), site, stack);
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.auth_service.repositories;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import com.example.auth_service.entities.emails.EmailOutboxMessage;
+import com.example.auth_service.entities.emails.EmailStatus;
+
+@Repository
+public interface EmailOutboxRepository extends MongoRepository<EmailOutboxMessage, String> {
+    long countByStatus(EmailStatus status);
+}
@@ -0,0 +1,29 @@
+package com.example.auth_service.repositories;
+
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+
+import com.example.auth_service.entities.users.User;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of {@link UserRepository} used by the WebFlux stack.
+ */
+@Repository
+public interface ReactiveUserRepository extends ReactiveMongoRepository<User, String> {
+    Mono<User> findByEmail(String email);
+
+    @Query(value = "{ '$or': [ { 'email': ?0 }, { 'name': ?1 } ] }", fields = "{ '_id': 1 }", exists = true)
+    Mono<Boolean> existsByEmailOrName(String email, String name);
+
+    @Query(value = "{ 'email': ?0 }", fields = "{ 'name': 1, 'email': 1, 'password': 1, 'role': 1, 'enabled': 1 }")
+    Mono<User> findCredentialsByEmail(String email);
+
+    @Query(value = "{ 'email': ?0 }", fields = "{ 'name': 1, 'email': 1, 'role': 1, 'enabled': 1 }")
+    Mono<User> findPrincipalByEmail(String email);
+
+    @Query(value = "{ 'email': ?0 }", fields = "{ 'enabled': 1 }")
+    Mono<User> findStatusByEmail(String email);
+}
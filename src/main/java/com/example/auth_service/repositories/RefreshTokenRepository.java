@@ -0,0 +1,103 @@
+package com.example.auth_service.repositories;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Refresh token families stored in Redis.
+ *
+ * A family is a hash {@code rff:{family}} holding the user claims needed to issue access tokens.
+ * Each refresh token of the family is a key {@code rf:{family}:<SHA-256 of the token>} whose value
+ * is {@code active} or {@code used}; the raw token is never stored. Both keys share the
+ * {@code {family}} hash tag, so the Lua scripts stay on a single Redis Cluster slot.
+ */
+@Repository
+public class RefreshTokenRepository {
+
+    private static final RedisScript<Long> ISSUE_SCRIPT =
+        RedisScript.of(new ClassPathResource("redis/issue-refresh-token.lua"), Long.class);
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> ROTATE_SCRIPT =
+        RedisScript.of(new ClassPathResource("redis/rotate-refresh-token.lua"), List.class);
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    /**
+     * Outcome of presenting a refresh token.
+     */
+    public enum Outcome { ROTATED, INVALID, REUSED }
+
+    /**
+     * The family claims returned by a successful rotation.
+     */
+    public record Rotation(Outcome outcome, String userId, String email, String role, long epoch) {
+
+        static final Rotation INVALID = new Rotation(Outcome.INVALID, null, null, null, 0);
+        static final Rotation REUSED = new Rotation(Outcome.REUSED, null, null, null, 0);
+    }
+
+    /**
+     * Starts a new family with its first token.
+     */
+    public void create(String familyId, String token, Duration ttl, String userId, String email, String role, long epoch) {
+        redisTemplate.execute(
+            ISSUE_SCRIPT,
+            List.of(familyKey(familyId), tokenKey(familyId, token)),
+            String.valueOf(ttl.toMillis()), userId, email, role, String.valueOf(epoch)
+        );
+    }
+
+    /**
+     * Atomically marks {@code presented} as used and stores {@code successor} in its place. A token
+     * that was already used revokes the whole family.
+     */
+    public Rotation rotate(String familyId, String presented, String successor, Duration ttl) {
+        List<?> result = redisTemplate.execute(
+            ROTATE_SCRIPT,
+            List.of(familyKey(familyId), tokenKey(familyId, presented), tokenKey(familyId, successor)),
+            String.valueOf(ttl.toMillis())
+        );
+        if (result == null || result.isEmpty()) return Rotation.INVALID;
+
+        long code = (Long) result.get(0);
+        if (code < 0) return Rotation.REUSED;
+        if (code == 0 || result.size() < 5) return Rotation.INVALID;
+
+        return new Rotation(
+            Outcome.ROTATED,
+            (String) result.get(1),
+            (String) result.get(2),
+            (String) result.get(3),
+            Long.parseLong((String) result.get(4))
+        );
+    }
+
+    public void deleteFamily(String familyId) {
+        redisTemplate.delete(familyKey(familyId));
+    }
+
+    private static String familyKey(String familyId) {
+        return "rff:{" + familyId + "}";
+    }
+
+    private static String tokenKey(String familyId, String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return "rf:{" + familyId + "}:" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.auth_service.repositories;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Revoked token ids stored as plain Redis keys.
+ *
+ * Each entry is {@code rt:<base64url of the first 16 bytes of SHA-256(token id)>} with a dummy
+ * value and a TTL equal to the token's remaining lifetime, so it disappears exactly when the token
+ * would have expired anyway. There is no index set: the local cache rebuilds itself with SCAN.
+ */
+@Repository
+public class RevokedTokenRepository {
+
+    public static final String KEY_PREFIX = "rt:";
+
+    private static final int DIGEST_BYTES = 16;
+    private static final int SCAN_BATCH = 1000;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    public boolean isRevoked(String tokenId) {
+        return Boolean.TRUE.equals(redisTemplate.hasKey(keyOf(tokenId)));
+    }
+
+    /**
+     * Checks several token ids with a single pipelined round trip.
+     *
+     * @param tokenIds the ids to check
+     * @return whether each id is revoked, in the same order
+     */
+    public List<Boolean> areRevoked(List<String> tokenIds) {
+        if (tokenIds.isEmpty()) return List.of();
+
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (String tokenId : tokenIds) connection.keyCommands().exists(keyOf(tokenId).getBytes(StandardCharsets.UTF_8));
+            return null;
+        });
+
+        List<Boolean> revoked = new ArrayList<>(tokenIds.size());
+        for (Object result : results) revoked.add(Boolean.TRUE.equals(result));
+        return revoked;
+    }
+
+    /**
+     * Stores a revocation until the token expires. Tokens that are already expired are skipped.
+     *
+     * @param tokenId the {@code jti} claim of the token
+     * @param expiresAt the token expiration
+     */
+    public void revoke(String tokenId, Instant expiresAt) {
+        Duration remaining = Duration.between(Instant.now(), expiresAt);
+        if (remaining.isNegative() || remaining.isZero()) return;
+
+        redisTemplate.opsForValue().set(keyOf(tokenId), "1", remaining);
+    }
+
+    /**
+     * Lists every live revocation as its fingerprint and expiration time.
+     *
+     * @return a map of {@link #fingerprint(String) fingerprint} to expiration in epoch millis
+     */
+    public Map<Long, Long> findAllFingerprints() {
+        List<String> keys = new ArrayList<>();
+        ScanOptions options = ScanOptions.scanOptions().match(KEY_PREFIX + "*").count(SCAN_BATCH).build();
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            cursor.forEachRemaining(keys::add);
+        }
+        if (keys.isEmpty()) return Map.of();
+
+        List<Object> ttls = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (String key : keys) connection.keyCommands().pTtl(key.getBytes(StandardCharsets.UTF_8));
+            return null;
+        });
+
+        long now = System.currentTimeMillis();
+        Map<Long, Long> revoked = new HashMap<>(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            if (ttls.get(i) instanceof Long ttl && ttl > 0) {
+                byte[] digest = Base64.getUrlDecoder().decode(keys.get(i).substring(KEY_PREFIX.length()));
+                revoked.put(ByteBuffer.wrap(digest).getLong(), now + ttl);
+            }
+        }
+        return revoked;
+    }
+
+    public static String keyOf(String tokenId) {
+        return KEY_PREFIX + Base64.getUrlEncoder().withoutPadding().encodeToString(digest(tokenId));
+    }
+
+    /**
+     * The first 8 bytes of the key digest, used by the local cache to track revocations.
+     */
+    public static long fingerprint(String tokenId) {
+        return ByteBuffer.wrap(digest(tokenId)).getLong();
+    }
+
+    private static byte[] digest(String tokenId) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(tokenId.getBytes(StandardCharsets.UTF_8));
+            return Arrays.copyOf(digest, DIGEST_BYTES);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.auth_service.repositories;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import com.example.auth_service.entities.signingkeys.SigningKey;
+
+@Repository
+public interface SigningKeyRepository extends MongoRepository<SigningKey, String> {
+    List<SigningKey> findByExpiresAtAfter(Instant instant);
+}
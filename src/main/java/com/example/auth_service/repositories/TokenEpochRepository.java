@@ -0,0 +1,78 @@
+package com.example.auth_service.repositories;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Per-user token epochs, stored as one Redis hash of user id to counter.
+ *
+ * Every token carries the epoch of its user at the time it was issued; bumping the counter
+ * invalidates all of them at once. Users that never logged out everywhere have no field and are
+ * at epoch 0, so the hash only grows with the users that did.
+ */
+@Repository
+public class TokenEpochRepository {
+
+    public static final String KEY = "token_epochs";
+
+    private static final int SCAN_BATCH = 1000;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    public long find(String userId) {
+        Object epoch = redisTemplate.opsForHash().get(KEY, userId);
+        return epoch != null ? Long.parseLong((String) epoch) : 0L;
+    }
+
+    /**
+     * Bumps the epoch of a user.
+     *
+     * @param userId the user id
+     * @return the new epoch
+     */
+    public long increment(String userId) {
+        return redisTemplate.opsForHash().increment(KEY, userId, 1);
+    }
+
+    /**
+     * Bumps the epochs of several users in one pipeline.
+     *
+     * @param userIds the user ids
+     * @return the new epoch of each user
+     */
+    public Map<String, Long> increment(Collection<String> userIds) {
+        List<String> ids = List.copyOf(userIds);
+        byte[] key = KEY.getBytes(StandardCharsets.UTF_8);
+
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (String userId : ids) connection.hashCommands().hIncrBy(key, userId.getBytes(StandardCharsets.UTF_8), 1);
+            return null;
+        });
+
+        Map<String, Long> epochs = new HashMap<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            if (results.get(i) instanceof Long epoch) epochs.put(ids.get(i), epoch);
+        }
+        return epochs;
+    }
+
+    public Map<String, Long> findAll() {
+        Map<String, Long> epochs = new HashMap<>();
+        ScanOptions options = ScanOptions.scanOptions().count(SCAN_BATCH).build();
+        try (Cursor<Map.Entry<Object, Object>> cursor = redisTemplate.opsForHash().scan(KEY, options)) {
+            cursor.forEachRemaining(entry -> epochs.put((String) entry.getKey(), Long.parseLong((String) entry.getValue())));
+        }
+        return epochs;
+    }
+}
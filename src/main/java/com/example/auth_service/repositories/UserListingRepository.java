@@ -0,0 +1,31 @@
+package com.example.auth_service.repositories;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import com.example.auth_service.entities.users.User;
+import com.example.auth_service.entities.users.UserRole;
+
+/**
+ * Admin listing queries mixed into {@link UserRepository}. Users are ordered by id and paged with
+ * an id cursor, and only the public fields are read.
+ */
+public interface UserListingRepository {
+
+    /**
+     * Reads the next page of users after the given cursor.
+     *
+     * @param role only users with this role, or null for any
+     * @param enabled only users with this status, or null for any
+     * @param after the id of the last user of the previous page, or null for the first page
+     * @param limit the page size
+     * @return up to {@code limit} users ordered by id
+     */
+    List<User> findPage(UserRole role, Boolean enabled, String after, int limit);
+
+    /**
+     * Streams every matching user from a single Mongo cursor, ordered by id. The stream must be
+     * closed.
+     */
+    Stream<User> streamAll(UserRole role, Boolean enabled);
+}
@@ -0,0 +1,50 @@
+package com.example.auth_service.repositories;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import com.example.auth_service.entities.users.User;
+import com.example.auth_service.entities.users.UserRole;
+
+class UserListingRepositoryImpl implements UserListingRepository {
+
+    private static final int CURSOR_BATCH_SIZE = 1000;
+
+    private final MongoTemplate mongoTemplate;
+
+    UserListingRepositoryImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public List<User> findPage(UserRole role, Boolean enabled, String after, int limit) {
+        Query query = query(role, enabled);
+        if (after != null) query.addCriteria(Criteria.where("_id").gt(new ObjectId(after)));
+        query.limit(limit);
+
+        return mongoTemplate.find(query, User.class);
+    }
+
+    @Override
+    public Stream<User> streamAll(UserRole role, Boolean enabled) {
+        Query query = query(role, enabled);
+        query.cursorBatchSize(CURSOR_BATCH_SIZE);
+
+        return mongoTemplate.stream(query, User.class);
+    }
+
+    private static Query query(UserRole role, Boolean enabled) {
+        Query query = new Query();
+        if (role != null) query.addCriteria(Criteria.where("role").is(role));
+        if (enabled != null) query.addCriteria(Criteria.where("enabled").is(enabled));
+        query.fields().include("name", "email", "role", "enabled");
+        query.with(Sort.by(Sort.Direction.ASC, "_id"));
+        return query;
+    }
+}
@@ -5,11 +5,37 @@ import com.example.auth_service.entities.users.User;
 import java.util.Optional;
 
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface UserRepository extends MongoRepository<User, String> {
+public interface UserRepository extends MongoRepository<User, String>, UserListingRepository {
     UserDetails findByEmail(String email);
     Optional<User> findByName(String name);
+
+    /**
+     * Checks in a single query whether the email or the name is already taken. Both fields are
+     * uniquely indexed, and only the id is read.
+     */
+    @Query(value = "{ '$or': [ { 'email': ?0 }, { 'name': ?1 } ] }", fields = "{ '_id': 1 }", exists = true)
+    boolean existsByEmailOrName(String email, String name);
+
+    /**
+     * Loads only the fields needed to check a password at login.
+     */
+    @Query(value = "{ 'email': ?0 }", fields = "{ 'name': 1, 'email': 1, 'password': 1, 'role': 1, 'enabled': 1 }")
+    User findCredentialsByEmail(String email);
+
+    /**
+     * Loads only the fields needed to build an authenticated principal.
+     */
+    @Query(value = "{ 'email': ?0 }", fields = "{ 'name': 1, 'email': 1, 'role': 1, 'enabled': 1 }")
+    User findPrincipalByEmail(String email);
+
+    /**
+     * Loads only the account status.
+     */
+    @Query(value = "{ 'email': ?0 }", fields = "{ 'enabled': 1 }")
+    User findStatusByEmail(String email);
 }
@@ -0,0 +1,100 @@
+package com.example.auth_service.repositories;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Pending email verification codes stored in Redis.
+ *
+ * Each entry is a hash {@code vc:<email>} holding the code and its expiration. The key itself
+ * outlives the code by {@code api.verification.retention-ms}, so a late attempt is still reported
+ * as expired rather than unknown, and then disappears on its own. A new code replaces the old one.
+ *
+ * Wrong attempts are counted in the hash, and the code is deleted after
+ * {@code api.verification.max-attempts} of them, so it cannot be guessed within its lifetime.
+ */
+@Repository
+public class VerificationCodeRepository {
+
+    public static final String KEY_PREFIX = "vc:";
+
+    public static final RedisScript<Long> CONSUME_SCRIPT =
+        RedisScript.of(new ClassPathResource("redis/consume-verification-code.lua"), Long.class);
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Value("${api.verification.code-ttl-ms}")
+    private long codeTtlMillis;
+
+    @Value("${api.verification.retention-ms}")
+    private long retentionMillis;
+
+    @Value("${api.verification.max-attempts}")
+    private int maxAttempts;
+
+    /**
+     * Outcome of presenting a verification code.
+     */
+    public enum Outcome {
+        CONSUMED, MISSING, EXPIRED, WRONG, EXHAUSTED;
+
+        public static Outcome of(Long result) {
+            if (result == null || result == 0) return MISSING;
+            if (result == 1) return CONSUMED;
+            if (result == -1) return EXPIRED;
+            return result == -3 ? EXHAUSTED : WRONG;
+        }
+    }
+
+    /**
+     * Stores a new code for the email, replacing any pending one.
+     */
+    public void save(String email, String code) {
+        String key = keyOf(email);
+        redisTemplate.opsForHash().putAll(key, newRecord(code));
+        redisTemplate.expire(key, keyTtl());
+    }
+
+    /**
+     * Atomically checks the code and deletes it if it matches, so it can only be used once.
+     */
+    public Outcome consume(String email, String code) {
+        return Outcome.of(redisTemplate.execute(
+            CONSUME_SCRIPT,
+            List.of(keyOf(email)),
+            consumeArgs(code).toArray()
+        ));
+    }
+
+    /**
+     * The arguments of {@link #CONSUME_SCRIPT}, for callers running it through another Redis client.
+     */
+    public List<String> consumeArgs(String code) {
+        return List.of(String.valueOf(code), String.valueOf(System.currentTimeMillis()), String.valueOf(maxAttempts));
+    }
+
+    /**
+     * The hash fields of a code issued now, for callers writing through another Redis client. The
+     * attempt count starts again with every new code.
+     */
+    public Map<String, String> newRecord(String code) {
+        return Map.of("code", code, "expires", String.valueOf(System.currentTimeMillis() + codeTtlMillis), "attempts", "0");
+    }
+
+    public Duration keyTtl() {
+        return Duration.ofMillis(codeTtlMillis + retentionMillis);
+    }
+
+    public static String keyOf(String email) {
+        return KEY_PREFIX + email;
+    }
+}
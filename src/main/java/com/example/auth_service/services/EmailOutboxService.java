@@ -0,0 +1,180 @@
+package com.example.auth_service.services;
+
+import com.example.auth_service.entities.emails.EmailOutboxMessage;
+import com.example.auth_service.entities.emails.EmailStatus;
+import com.example.auth_service.repositories.EmailOutboxRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Persistent outbox for outgoing emails.
+ *
+ * Request threads only insert a document; a bounded worker pool claims due messages with a lease,
+ * sends them over SMTP and deletes them on success. Failures are retried with exponential backoff
+ * and parked as {@link EmailStatus#DEAD} once the attempts are exhausted. Messages whose lease
+ * expires (for example because the node died mid-send) are claimed again by any node.
+ */
+@Service
+public class EmailOutboxService {
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private EmailService emailService;
+
+    @Value("${email.outbox.max-attempts}")
+    private int maxAttempts;
+
+    @Value("${email.outbox.backoff-initial-ms}")
+    private long backoffInitialMillis;
+
+    @Value("${email.outbox.backoff-max-ms}")
+    private long backoffMaxMillis;
+
+    @Value("${email.outbox.lease-ms}")
+    private long leaseMillis;
+
+    private final ThreadPoolExecutor workers;
+
+    private final AtomicLong pendingDepth = new AtomicLong();
+    private final AtomicLong deadDepth = new AtomicLong();
+    private final MeterRegistry meterRegistry;
+
+    public EmailOutboxService(
+        @Value("${email.outbox.workers}") int workerCount,
+        @Value("${spring.threads.virtual.enabled}") boolean virtualThreads,
+        MeterRegistry meterRegistry
+    ) {
+        // In virtual-thread mode the pool size still bounds concurrency: JavaMail holds a monitor
+        // for the whole SMTP conversation, so each send pins its carrier thread while it runs
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadFactory threadFactory = virtualThreads
+            ? Thread.ofVirtual().name("email-outbox-", 1).factory()
+            : runnable -> {
+                Thread thread = new Thread(runnable, "email-outbox-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            };
+
+        this.workers = new ThreadPoolExecutor(
+            workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(workerCount),
+            threadFactory
+        );
+        this.meterRegistry = meterRegistry;
+
+        Gauge.builder("auth.email.outbox.depth", pendingDepth, AtomicLong::get).tag("status", "pending").register(meterRegistry);
+        Gauge.builder("auth.email.outbox.depth", deadDepth, AtomicLong::get).tag("status", "dead").register(meterRegistry);
+        Gauge.builder("auth.email.outbox.workers.active", workers, ThreadPoolExecutor::getActiveCount).register(meterRegistry);
+    }
+
+    /**
+     * Persists an email to be sent asynchronously.
+     *
+     * @param to the recipient address
+     * @param subject the email subject
+     * @param body the HTML body
+     */
+    public void enqueue(String to, String subject, String body) {
+        emailOutboxRepository.save(new EmailOutboxMessage(to, subject, body));
+    }
+
+    @Scheduled(fixedDelayString = "${email.outbox.poll-interval-ms}")
+    public void drain() {
+        while (workers.getQueue().remainingCapacity() > 0) {
+            EmailOutboxMessage message = claimNext();
+            if (message == null) return;
+
+            workers.execute(() -> send(message));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${email.outbox.metrics-interval-ms}")
+    public void refreshDepth() {
+        pendingDepth.set(emailOutboxRepository.countByStatus(EmailStatus.PENDING));
+        deadDepth.set(emailOutboxRepository.countByStatus(EmailStatus.DEAD));
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        workers.shutdown();
+        workers.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    private EmailOutboxMessage claimNext() {
+        Instant now = Instant.now();
+        Query query = new Query(new Criteria().orOperator(
+            Criteria.where("status").is(EmailStatus.PENDING).and("nextAttemptAt").lte(now),
+            Criteria.where("status").is(EmailStatus.SENDING).and("lockedUntil").lte(now)
+        )).with(Sort.by("nextAttemptAt"));
+
+        Update update = new Update()
+            .set("status", EmailStatus.SENDING)
+            .set("lockedUntil", now.plusMillis(leaseMillis));
+
+        return mongoTemplate.findAndModify(
+            query, update, FindAndModifyOptions.options().returnNew(true), EmailOutboxMessage.class
+        );
+    }
+
+    private void send(EmailOutboxMessage message) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            emailService.sendVerificationEmail(message.getTo(), message.getSubject(), message.getBody());
+            sample.stop(meterRegistry.timer("auth.email.send", "outcome", "success"));
+
+            emailOutboxRepository.deleteById(message.getId());
+            meterRegistry.timer("auth.email.outbox.delivery")
+                .record(Duration.between(message.getCreatedAt(), Instant.now()));
+        } catch (Exception e) {
+            sample.stop(meterRegistry.timer("auth.email.send", "outcome", "failure"));
+            reschedule(message, e);
+        }
+    }
+
+    private void reschedule(EmailOutboxMessage message, Exception cause) {
+        int attempts = message.getAttempts() + 1;
+        message.setAttempts(attempts);
+        message.setLastError(cause.getClass().getSimpleName() + ": " + cause.getMessage());
+        message.setLockedUntil(null);
+
+        if (attempts >= maxAttempts) {
+            message.setStatus(EmailStatus.DEAD);
+            meterRegistry.counter("auth.email.outbox.dead").increment();
+        } else {
+            long backoff = Math.min(backoffMaxMillis, backoffInitialMillis << Math.min(attempts - 1, 20));
+            message.setStatus(EmailStatus.PENDING);
+            message.setNextAttemptAt(Instant.now().plusMillis(backoff));
+        }
+
+        emailOutboxRepository.save(message);
+    }
+}
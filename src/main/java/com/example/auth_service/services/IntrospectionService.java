@@ -0,0 +1,157 @@
+package com.example.auth_service.services;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.example.auth_service.entities.users.dtos.IntrospectionDTO;
+import com.example.auth_service.infra.security.RevokedTokenCache;
+import com.example.auth_service.infra.security.TokenEpochCache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Batch token introspection for gateways.
+ *
+ * Signatures, expiry and user epochs are checked locally, and the revocation status of the whole
+ * batch is confirmed with at most one pipelined Redis call. Active results are cached for
+ * {@code cache-ttl-ms}, which skips the signature check and the Redis call. A cached result is
+ * only served while this node's revocation and epoch tiers still clear the token, so a logout or
+ * logout-all ends it as soon as the node hears about it.
+ */
+@Service
+public class IntrospectionService {
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private TokenEpochCache tokenEpochCache;
+
+    @Autowired
+    private RevokedTokenCache revokedTokenCache;
+
+    @Value("${api.introspection.secret}")
+    private String secret;
+
+    @Value("${api.introspection.cache-ttl-ms}")
+    private long cacheTtlMillis;
+
+    @Value("${api.introspection.cache-max-entries}")
+    private int cacheMaxEntries;
+
+    private final Map<String, Cached> cache = new ConcurrentHashMap<>();
+
+    private record Cached(IntrospectionDTO result, DecodedJWT token, long expiresAt) {}
+
+    private final Counter cacheHits;
+    private final Counter active;
+    private final Counter inactive;
+
+    public IntrospectionService(MeterRegistry meterRegistry) {
+        this.cacheHits = meterRegistry.counter("auth.introspection.tokens", "result", "cached");
+        this.active = meterRegistry.counter("auth.introspection.tokens", "result", "active");
+        this.inactive = meterRegistry.counter("auth.introspection.tokens", "result", "inactive");
+    }
+
+    /**
+     * Checks the shared secret gateways send with introspection requests. An empty configured
+     * secret disables the endpoint.
+     */
+    public boolean isAuthorized(String presentedSecret) {
+        if (secret == null || secret.isEmpty() || presentedSecret == null) return false;
+        return MessageDigest.isEqual(
+            secret.getBytes(StandardCharsets.UTF_8),
+            presentedSecret.getBytes(StandardCharsets.UTF_8)
+        );
+    }
+
+    /**
+     * Introspects a batch of tokens.
+     *
+     * @param tokens the raw JWTs
+     * @return one result per token, in the same order
+     */
+    public List<IntrospectionDTO> introspect(List<String> tokens) {
+        IntrospectionDTO[] results = new IntrospectionDTO[tokens.size()];
+        List<Integer> pending = new ArrayList<>();
+        List<DecodedJWT> decoded = new ArrayList<>();
+        long now = System.currentTimeMillis();
+
+        for (int i = 0; i < tokens.size(); i++) {
+            String token = tokens.get(i);
+            Cached cached = token != null ? cache.get(token) : null;
+            DecodedJWT decodedToken;
+            if (cached != null && cached.expiresAt() > now) {
+                decodedToken = cached.token();
+                if (!revokedTokenCache.mightBeRevoked(decodedToken) && tokenEpochCache.isCurrent(decodedToken)) {
+                    cacheHits.increment();
+                    results[i] = cached.result();
+                    continue;
+                }
+                // Possibly revoked since it was cached: drop it and check it like a new token
+                cache.remove(token);
+            } else {
+                decodedToken = token != null ? tokenService.verifySignature(token) : null;
+            }
+
+            if (decodedToken == null || !tokenEpochCache.isCurrent(decodedToken)) {
+                inactive.increment();
+                results[i] = IntrospectionDTO.INACTIVE;
+                continue;
+            }
+            pending.add(i);
+            decoded.add(decodedToken);
+        }
+
+        boolean[] revoked = revokedTokenCache.areRevoked(decoded);
+        for (int i = 0; i < pending.size(); i++) {
+            int index = pending.get(i);
+            if (revoked[i]) {
+                inactive.increment();
+                results[index] = IntrospectionDTO.INACTIVE;
+            } else {
+                active.increment();
+                results[index] = toResult(decoded.get(i));
+                remember(tokens.get(index), decoded.get(i), results[index], now);
+            }
+        }
+
+        return Arrays.asList(results);
+    }
+
+    @Scheduled(fixedDelayString = "${api.introspection.cache-ttl-ms}")
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        cache.values().removeIf(cached -> cached.expiresAt() <= now);
+    }
+
+    private void remember(String token, DecodedJWT decodedToken, IntrospectionDTO result, long now) {
+        if (cache.size() >= cacheMaxEntries) return;
+
+        // Never cache past the token's own expiry
+        long expiresAt = Math.min(now + cacheTtlMillis, result.exp() * 1000);
+        cache.put(token, new Cached(result, decodedToken, expiresAt));
+    }
+
+    private static IntrospectionDTO toResult(DecodedJWT token) {
+        return new IntrospectionDTO(
+            true,
+            token.getSubject(),
+            token.getClaim("role").asString(),
+            token.getClaim("id").asString(),
+            token.getExpiresAtAsInstant().getEpochSecond()
+        );
+    }
+}
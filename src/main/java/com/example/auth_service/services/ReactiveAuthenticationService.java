@@ -0,0 +1,177 @@
+package com.example.auth_service.services;
+
+import com.example.auth_service.entities.emails.EmailOutboxMessage;
+import com.example.auth_service.entities.users.User;
+import com.example.auth_service.entities.users.UserRole;
+import com.example.auth_service.entities.users.dtos.RegisterDTO;
+import com.example.auth_service.entities.users.dtos.VerifyDTO;
+import com.example.auth_service.infra.security.ThrottledPasswordEncoder;
+import com.example.auth_service.infra.security.UserDetailsCache;
+import com.example.auth_service.infra.security.UserStatusCache;
+import com.example.auth_service.repositories.ReactiveUserRepository;
+import com.example.auth_service.repositories.VerificationCodeRepository;
+import com.example.auth_service.services.templates.EmailTemplateEngine;
+import com.example.auth_service.services.templates.RenderedEmail;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * WebFlux counterpart of {@link AuthenticationService}. Mongo is accessed through the reactive
+ * driver, BCrypt runs on the bounded password hashing pool and emails go through the outbox, so no
+ * event-loop thread ever blocks.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveAuthenticationService {
+
+    @Autowired
+    private ReactiveUserRepository userRepository;
+
+    @Autowired
+    private ReactiveMongoTemplate mongoTemplate;
+
+    @Autowired
+    private ReactiveStringRedisTemplate redisTemplate;
+
+    @Autowired
+    private VerificationCodeRepository verificationCodeRepository;
+
+    @Autowired
+    private UserStatusCache userStatusCache;
+
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
+    @Autowired
+    private ThrottledPasswordEncoder passwordEncoder;
+
+    @Autowired
+    private EmailTemplateEngine emailTemplateEngine;
+
+    @Autowired
+    private UserService userService;
+
+    @Value("${admin.code}")
+    private String adminCode;
+
+    /**
+     * Checks the credentials of an enabled user.
+     *
+     * @param email the user email
+     * @param password the raw password
+     * @return the user, or a BadCredentialsException if the user is unknown, disabled or the password is wrong
+     */
+    public Mono<User> authenticate(String email, String password) {
+        return userRepository.findCredentialsByEmail(email)
+            .filter(User::isEnabled)
+            .flatMap(user -> Mono.fromFuture(() -> passwordEncoder.matchesAsync(password, user.getPassword()))
+                .filter(Boolean::booleanValue)
+                .map(matches -> user))
+            .switchIfEmpty(Mono.error(() -> new BadCredentialsException("Unverified or incorrect credentials")));
+    }
+
+    public Mono<ResponseEntity<Object>> signup(RegisterDTO data, Locale locale) {
+        return userRepository.existsByEmailOrName(data.email(), data.name())
+            .flatMap(exists -> {
+                if (exists) return Mono.just(alreadyUsed());
+
+                return Mono.fromFuture(() -> passwordEncoder.encodeAsync(data.password()))
+                    .map(encryptedPassword -> newUser(data, encryptedPassword))
+                    .flatMap(user -> userRepository.insert(user)
+                        .flatMap(saved -> invalidateUserDetails(saved.getEmail()).thenReturn(saved))
+                        .flatMap(saved -> sendVerificationEmail(saved.getEmail(), "verification", locale))
+                        .thenReturn(ResponseEntity.status(HttpStatus.CREATED).<Object>body("Verification code sent to your email"))
+                        .onErrorResume(DuplicateKeyException.class, e -> Mono.just(alreadyUsed())));
+            });
+    }
+
+    /**
+     * Consumes the pending code of the user and enables the account, as in
+     * {@link AuthenticationService#verifyUser(VerifyDTO)}.
+     */
+    @SuppressWarnings("unchecked")
+    public Mono<ResponseEntity<Object>> verifyUser(VerifyDTO data) {
+        return redisTemplate.execute(
+                VerificationCodeRepository.CONSUME_SCRIPT,
+                List.of(VerificationCodeRepository.keyOf(data.email())),
+                verificationCodeRepository.consumeArgs(data.verificationCode())
+            )
+            .next()
+            .map(VerificationCodeRepository.Outcome::of)
+            .flatMap(outcome -> switch (outcome) {
+                case EXPIRED -> Mono.just(ResponseEntity.status(HttpStatus.BAD_REQUEST).<Object>body("Validation code expired"));
+                case WRONG -> Mono.just(ResponseEntity.status(HttpStatus.BAD_REQUEST).<Object>body("Wrong validation code"));
+                case EXHAUSTED -> Mono.just(ResponseEntity.status(HttpStatus.BAD_REQUEST).<Object>body(AuthenticationService.TOO_MANY_ATTEMPTS));
+                case MISSING -> userRepository.findStatusByEmail(data.email())
+                    .map(status -> (ResponseEntity<Object>) AuthenticationService.missingCode(status))
+                    .defaultIfEmpty(ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+                case CONSUMED -> enableUser(data.email());
+            });
+    }
+
+    public Mono<ResponseEntity<Object>> resendVerificationCode(String email, Locale locale) {
+        return userRepository.findStatusByEmail(email)
+            .flatMap(user -> {
+                if (user.isEnabled()) {
+                    return Mono.just(ResponseEntity.status(HttpStatus.BAD_REQUEST).<Object>body("User already verified"));
+                }
+
+                return sendVerificationEmail(email, "resend", locale)
+                    .thenReturn(ResponseEntity.status(HttpStatus.OK).<Object>body("Code resent"));
+            })
+            .defaultIfEmpty(ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+    }
+
+    private Mono<ResponseEntity<Object>> enableUser(String email) {
+        return mongoTemplate.findAndModify(UserService.enableQuery(email), UserService.enableUpdate(), User.class)
+            .doOnNext(user -> userStatusCache.invalidate(email))
+            .flatMap(user -> invalidateUserDetails(email).thenReturn(user))
+            .flatMap(user -> Mono.fromRunnable(() -> userService.sendRegisterMessage(user.getId(), user.getName()))
+                .thenReturn(ResponseEntity.status(HttpStatus.OK).<Object>body("User verified!")))
+            .defaultIfEmpty(ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+    }
+
+    /**
+     * Drops the servlet nodes' cached copy of a changed user, publishing without blocking.
+     */
+    private Mono<Long> invalidateUserDetails(String email) {
+        userDetailsCache.evict(email);
+        return redisTemplate.convertAndSend(userDetailsCache.channel(), UserDetailsCache.message(List.of(email)));
+    }
+
+    private User newUser(RegisterDTO data, String encryptedPassword) {
+        User user = new User(data.name(), data.email(), encryptedPassword);
+        user.setRole(data.code() != null && data.code().equals(adminCode) ? UserRole.ADMIN : UserRole.USER);
+        user.setEnabled(false);
+        return user;
+    }
+
+    private Mono<EmailOutboxMessage> sendVerificationEmail(String to, String template, Locale locale) {
+        String code = AuthenticationService.generateVerificationCode();
+        String key = VerificationCodeRepository.keyOf(to);
+        RenderedEmail email = emailTemplateEngine.render(template, locale, Map.of("code", code));
+
+        return redisTemplate.opsForHash().putAll(key, verificationCodeRepository.newRecord(code))
+            .then(redisTemplate.expire(key, verificationCodeRepository.keyTtl()))
+            .then(mongoTemplate.insert(new EmailOutboxMessage(to, email.subject(), email.body())));
+    }
+
+    private static ResponseEntity<Object> alreadyUsed() {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Username or email already used");
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.auth_service.services;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.example.auth_service.infra.security.RevokedTokenCache;
+import com.example.auth_service.infra.security.TokenEpochCache;
+import com.example.auth_service.repositories.RevokedTokenRepository;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Non-blocking token verification and revocation for the WebFlux stack. Signatures are checked
+ * inline, the local revocation tier is shared with {@link TokenService}, and Redis is only read
+ * for possible positives through the reactive client.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveTokenService {
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private RevokedTokenCache revokedTokenCache;
+
+    @Autowired
+    private TokenEpochCache tokenEpochCache;
+
+    @Autowired
+    private ReactiveStringRedisTemplate redisTemplate;
+
+    @Value("${api.security.revocation.channel}")
+    private String channel;
+
+    /**
+     * Verifies a token and checks its revocation status.
+     *
+     * @param token the raw JWT
+     * @return the decoded token, or empty if it is invalid or revoked
+     */
+    public Mono<DecodedJWT> verifyToken(String token) {
+        DecodedJWT decodedToken = tokenService.verifySignature(token);
+        if (decodedToken == null) return Mono.empty();
+
+        if (!tokenEpochCache.isSynced()) {
+            // Until the first sync the epoch check reads Redis synchronously, so keep it off the event loop
+            return Mono.fromCallable(() -> tokenEpochCache.isCurrent(decodedToken))
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .filter(Boolean::booleanValue)
+                    .flatMap(current -> checkRevocation(decodedToken));
+        }
+        if (!tokenEpochCache.isCurrent(decodedToken)) return Mono.empty();
+        return checkRevocation(decodedToken);
+    }
+
+    private Mono<DecodedJWT> checkRevocation(DecodedJWT decodedToken) {
+        if (!revokedTokenCache.mightBeRevoked(decodedToken)) return Mono.just(decodedToken);
+
+        return redisTemplate.hasKey(RevokedTokenRepository.keyOf(RevokedTokenCache.tokenId(decodedToken)))
+                .doOnNext(revoked -> revokedTokenCache.recordLookup(decodedToken, revoked))
+                .filter(revoked -> !revoked)
+                .map(revoked -> decodedToken);
+    }
+
+    /**
+     * Revokes a token using the same Redis layout as {@link RevokedTokenRepository}, so both
+     * stacks can run side by side against one Redis.
+     *
+     * @param token the raw JWT
+     * @return the revoked token, or empty if it does not verify or has already expired
+     */
+    public Mono<DecodedJWT> revokeToken(String token) {
+        DecodedJWT decodedToken = tokenService.verifySignature(token);
+        if (decodedToken == null) return Mono.empty();
+
+        Duration remaining = Duration.between(Instant.now(), decodedToken.getExpiresAtAsInstant());
+        if (remaining.isNegative() || remaining.isZero()) return Mono.empty();
+
+        String key = RevokedTokenRepository.keyOf(RevokedTokenCache.tokenId(decodedToken));
+        return redisTemplate.opsForValue().set(key, "1", remaining)
+                .then(Mono.fromSupplier(() -> revokedTokenCache.rememberRevoked(decodedToken)))
+                .flatMap(message -> redisTemplate.convertAndSend(channel, message))
+                .thenReturn(decodedToken);
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.auth_service.services;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.example.auth_service.entities.users.User;
+import com.example.auth_service.entities.users.UserRole;
+import com.example.auth_service.entities.users.dtos.LoginResponseDTO;
+import com.example.auth_service.infra.security.TokenEpochCache;
+import com.example.auth_service.repositories.RefreshTokenRepository;
+import com.example.auth_service.repositories.RefreshTokenRepository.Outcome;
+import com.example.auth_service.repositories.RefreshTokenRepository.Rotation;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Long-lived, single-use refresh tokens.
+ *
+ * A refresh token is {@code <family id>.<secret>}. Every use returns a new access token together
+ * with the next refresh token of the same family, so renewing costs one Redis script call instead
+ * of a BCrypt check and a Mongo read. Presenting a token that was already used means it leaked,
+ * and the whole family is revoked. Bumping the user's token epoch also invalidates every family.
+ *
+ * Access tokens carry their family id in the {@code sid} claim, so logging out deletes the family.
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final Pattern FAMILY_ID = Pattern.compile("[A-Za-z0-9_-]{22}");
+
+    private final SecureRandom random = new SecureRandom();
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private TokenEpochCache tokenEpochCache;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${api.security.refresh.ttl-ms}")
+    private long ttlMillis;
+
+    /**
+     * Issues an access token and the first refresh token of a new family.
+     *
+     * @param user the authenticated user
+     * @return both tokens
+     */
+    public LoginResponseDTO login(User user) {
+        String familyId = randomToken(16);
+        String refreshToken = familyId + "." + randomToken(32);
+
+        refreshTokenRepository.create(
+            familyId, refreshToken, Duration.ofMillis(ttlMillis),
+            user.getId(), user.getEmail(), user.getRole().getRole(), tokenEpochCache.currentEpoch(user.getId())
+        );
+
+        return new LoginResponseDTO(tokenService.generateToken(user, familyId), refreshToken);
+    }
+
+    /**
+     * Exchanges a refresh token for a new access token and the next refresh token.
+     *
+     * @param refreshToken the refresh token presented by the client
+     * @return both tokens, or null if the refresh token is unknown, expired, reused or revoked
+     */
+    public LoginResponseDTO refresh(String refreshToken) {
+        int separator = refreshToken != null ? refreshToken.indexOf('.') : -1;
+        if (separator < 0 || !FAMILY_ID.matcher(refreshToken.substring(0, separator)).matches()) {
+            return rejected("invalid");
+        }
+
+        String familyId = refreshToken.substring(0, separator);
+        String successor = familyId + "." + randomToken(32);
+
+        Rotation rotation = refreshTokenRepository.rotate(familyId, refreshToken, successor, Duration.ofMillis(ttlMillis));
+        if (rotation.outcome() == Outcome.REUSED) return rejected("reused");
+        if (rotation.outcome() != Outcome.ROTATED) return rejected("invalid");
+
+        // Logging out everywhere must also end the sessions that only hold a refresh token
+        if (rotation.epoch() < tokenEpochCache.currentEpoch(rotation.userId())) {
+            refreshTokenRepository.deleteFamily(familyId);
+            return rejected("revoked");
+        }
+
+        User user = new User(null, rotation.email(), null);
+        user.setId(rotation.userId());
+        user.setRole(UserRole.fromRole(rotation.role()));
+
+        meterRegistry.counter("auth.refresh", "outcome", "rotated").increment();
+        return new LoginResponseDTO(tokenService.generateToken(user, familyId), successor);
+    }
+
+    /**
+     * Ends the refresh session an access token was issued with, so its refresh token stops working.
+     *
+     * @param accessToken a verified access token
+     */
+    public void logout(DecodedJWT accessToken) {
+        String familyId = accessToken.getClaim(TokenService.SESSION_CLAIM).asString();
+        if (familyId == null || !FAMILY_ID.matcher(familyId).matches()) return;
+
+        refreshTokenRepository.deleteFamily(familyId);
+        meterRegistry.counter("auth.refresh", "outcome", "logged_out").increment();
+    }
+
+    private LoginResponseDTO rejected(String outcome) {
+        meterRegistry.counter("auth.refresh", "outcome", outcome).increment();
+        return null;
+    }
+
+    private String randomToken(int bytes) {
+        byte[] buffer = new byte[bytes];
+        random.nextBytes(buffer);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer);
+    }
+}
@@ -1,73 +1,199 @@
 package com.example.auth_service.services;
 
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTCreationException;
 import com.auth0.jwt.exceptions.JWTVerificationException;
-import com.example.auth_service.entities.blacklistedtokens.BlacklistedToken;
+import com.auth0.jwt.interfaces.DecodedJWT;
 import com.example.auth_service.entities.users.User;
-import com.example.auth_service.repositories.BlacklistedTokenRepository;
+import com.example.auth_service.infra.security.RevokedTokenCache;
+import com.example.auth_service.infra.security.SigningKeyManager;
+import com.example.auth_service.infra.security.TokenEpochCache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
-import java.time.LocalDateTime;
-import java.time.ZoneOffset;
+import java.util.UUID;
 
 @Service
 public class TokenService {
 
+    /**
+     * Claim holding the refresh token family the access token was issued with, so logging out
+     * can end the whole session.
+     */
+    public static final String SESSION_CLAIM = "sid";
+
     @Value("${api.security.token.secret}")
     private String secret;
 
+    @Value("${api.security.token.accept-hmac}")
+    private boolean acceptHmac;
+
+    @Autowired
+    private SigningKeyManager signingKeyManager;
+
+    private volatile JWTVerifier hmacVerifier;
+
+    @Autowired
+    private RevokedTokenCache revokedTokenCache;
+
     @Autowired
-    private BlacklistedTokenRepository blacklistedTokenRepository;
+    private TokenEpochCache tokenEpochCache;
+
+    private final MeterRegistry meterRegistry;
+    private final Timer signTimer;
+    private final Timer validTimer;
+    private final Timer invalidTimer;
+    private final Timer unknownKeyTimer;
+
+    public TokenService(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.signTimer = Timer.builder("auth.jwt.sign").publishPercentileHistogram().register(meterRegistry);
+        this.validTimer = verifyTimer(meterRegistry, "valid");
+        this.invalidTimer = verifyTimer(meterRegistry, "invalid");
+        this.unknownKeyTimer = verifyTimer(meterRegistry, "unknown_key");
+    }
 
     public String generateToken(User user) {
+        return generateToken(user, null);
+    }
+
+    /**
+     * Issues an access token bound to a refresh session.
+     *
+     * @param user the token subject
+     * @param sessionId the refresh token family id, or null for a token without a session
+     * @return the signed token
+     */
+    public String generateToken(User user, String sessionId) {
+        Timer.Sample sample = Timer.start(meterRegistry);
         try {
-            Algorithm algorithm = Algorithm.HMAC256(this.secret);
-            return JWT.create()
+            var signingKey = signingKeyManager.signingKey();
+            var token = JWT.create()
+                    .withKeyId(signingKey.kid())
                     .withIssuer("auth-api")
+                    .withJWTId(UUID.randomUUID().toString())
                     .withSubject(user.getEmail())
                     .withClaim("role", user.getRole().getRole())
                     .withClaim("id", user.getId())
-                    .withExpiresAt(generateExpirationDate())
-                    .sign(algorithm);
+                    .withClaim(TokenEpochCache.EPOCH_CLAIM, tokenEpochCache.currentEpoch(user.getId()))
+                    .withExpiresAt(generateExpirationDate());
+            if (sessionId != null) token.withClaim(SESSION_CLAIM, sessionId);
+            return token.sign(signingKey.algorithm());
 
         } catch (JWTCreationException exception) {
             throw new RuntimeException("Error while generating token", exception);
+        } finally {
+            sample.stop(signTimer);
         }
     }
 
     public String validateToken(String token) {
+        DecodedJWT decodedToken = verifyToken(token);
+        return decodedToken != null ? decodedToken.getSubject() : null;
+    }
+
+    /**
+     * Verifies the signature, issuer, expiration, user epoch and revocation status of a token.
+     *
+     * @param token the raw JWT
+     * @return the decoded token, or null if it is not valid
+     */
+    public DecodedJWT verifyToken(String token) {
+        DecodedJWT decodedToken = verifySignature(token);
+        if (decodedToken == null) return null;
+
+        if (!tokenEpochCache.isCurrent(decodedToken)) return null;
+        if (revokedTokenCache.isRevoked(decodedToken)) return null;
+
+        return decodedToken;
+    }
+
+    /**
+     * Verifies the signature, issuer and expiration of a token without checking revocation.
+     *
+     * @param token the raw JWT
+     * @return the decoded token, or null if it is not valid
+     */
+    public DecodedJWT verifySignature(String token) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Timer outcome = invalidTimer;
         try {
-            Algorithm algorithm = Algorithm.HMAC256(this.secret);
-            
-            boolean isBlacklisted = blacklistedTokenRepository.findByToken(token).isPresent();
-            if (isBlacklisted) {
-                throw new JWTVerificationException("Token has been revoked.");
+            DecodedJWT decodedToken = JWT.decode(token);
+
+            JWTVerifier verifier = decodedToken.getKeyId() != null
+                    ? signingKeyManager.verifierFor(decodedToken.getKeyId())
+                    : hmacVerifier();
+            if (verifier == null) {
+                outcome = unknownKeyTimer;
+                return null;
             }
 
-            return JWT.require(algorithm)
-                    .withIssuer("auth-api")
-                    .build()
-                    .verify(token)
-                    .getSubject();
+            DecodedJWT verified = verifier.verify(decodedToken);
+            outcome = validTimer;
+            return verified;
 
         } catch (JWTVerificationException exception) {
             return null;
+        } finally {
+            sample.stop(outcome);
         }
     }
 
-    public void revokeToken(String token){
-        BlacklistedToken tokenToBeRevoked = new BlacklistedToken(token);
+    private static Timer verifyTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("auth.jwt.verify")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * Verifier for tokens signed with the shared secret before asymmetric keys were introduced,
+     * or null once {@code api.security.token.accept-hmac} is turned off.
+     */
+    private JWTVerifier hmacVerifier() {
+        if (!acceptHmac) return null;
+        if (hmacVerifier == null) {
+            hmacVerifier = JWT.require(Algorithm.HMAC256(this.secret)).withIssuer("auth-api").build();
+        }
+        return hmacVerifier;
+    }
+
+    /**
+     * Revokes a single token.
+     *
+     * @param token the raw JWT
+     * @return the revoked token, or null if it does not verify
+     */
+    public DecodedJWT revokeToken(String token){
+        // Tokens that fail verification can no longer be used, so there is nothing to revoke
+        DecodedJWT decodedToken = verifySignature(token);
+        if (decodedToken != null) revokedTokenCache.revoke(decodedToken);
+        return decodedToken;
+    }
+
+    /**
+     * Revokes every token issued so far to the owner of the given token.
+     *
+     * @param token a valid token of the user
+     * @return the given token, or null if it is not valid
+     */
+    public DecodedJWT revokeAllTokens(String token){
+        DecodedJWT decodedToken = verifyToken(token);
+        if (decodedToken == null || decodedToken.getClaim("id").isMissing()) return null;
 
-        blacklistedTokenRepository.save(tokenToBeRevoked);
+        tokenEpochCache.revokeAll(decodedToken.getClaim("id").asString());
+        return decodedToken;
     }
 
     private Instant generateExpirationDate() {
-        return LocalDateTime.now().plusMinutes(15).toInstant(ZoneOffset.of("-06:00"));
+        return Instant.now().plusMillis(signingKeyManager.tokenLifetimeMillis());
     }
 }
@@ -0,0 +1,311 @@
+package com.example.auth_service.services;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import com.example.auth_service.entities.users.User;
+import com.example.auth_service.entities.users.UserRole;
+import com.example.auth_service.entities.users.dtos.ImportErrorDTO;
+import com.example.auth_service.entities.users.dtos.ImportProgressDTO;
+import com.example.auth_service.entities.users.dtos.ImportRowDTO;
+import com.example.auth_service.infra.security.UserDetailsCache;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.bulk.BulkWriteError;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Bulk user import for migrations.
+ *
+ * Input is read one batch at a time, so memory stays bounded whatever its size. For each batch,
+ * duplicates are checked with a single indexed query, raw passwords are hashed in parallel on a
+ * dedicated fork-join pool, and the users are written with one unordered bulk insert. Rows that
+ * already carry a BCrypt hash are stored as-is. Imported users get no verification email.
+ */
+@Service
+public class UserImportService {
+
+    /**
+     * Input formats accepted by {@link #importUsers}.
+     */
+    public enum Format { NDJSON, CSV }
+
+    private static final Pattern BCRYPT_HASH = Pattern.compile("^\\$2[aby]?\\$\\d{2}\\$[./A-Za-z0-9]{53}$");
+    private static final int MIN_PASSWORD = 6;
+    private static final int MAX_PASSWORD = 30;
+    private static final String DUPLICATE = "Username or email already used";
+
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final MeterRegistry meterRegistry;
+    private final UserDetailsCache userDetailsCache;
+    private final int batchSize;
+
+    private final PasswordEncoder bcrypt = new BCryptPasswordEncoder();
+    private final ForkJoinPool hashingPool;
+
+    private record Row(long line, ImportRowDTO data) {}
+
+    public UserImportService(
+        MongoTemplate mongoTemplate,
+        ObjectMapper objectMapper,
+        Validator validator,
+        MeterRegistry meterRegistry,
+        UserDetailsCache userDetailsCache,
+        @Value("${api.import.batch-size}") int batchSize,
+        @Value("${api.import.hashing-parallelism}") int hashingParallelism
+    ) {
+        this.mongoTemplate = mongoTemplate;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.meterRegistry = meterRegistry;
+        this.userDetailsCache = userDetailsCache;
+        this.batchSize = batchSize;
+        this.hashingPool = new ForkJoinPool(hashingParallelism > 0 ? hashingParallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashingPool.shutdownNow();
+    }
+
+    /**
+     * Imports every user in the input.
+     *
+     * CSV input starts with a header naming the columns ({@code name,email,password} and optionally
+     * {@code role,enabled}); NDJSON input has one {@link ImportRowDTO} object per line.
+     *
+     * @param reader the input
+     * @param format the input format
+     * @param sink receives an {@link ImportErrorDTO} per rejected row, an {@link ImportProgressDTO}
+     *     after each batch, and a final progress with {@code done} set
+     */
+    public void importUsers(BufferedReader reader, Format format, Consumer<Object> sink) throws IOException {
+        long processed = 0;
+        long imported = 0;
+        long failed = 0;
+
+        List<String> columns = null;
+        List<Row> batch = new ArrayList<>(batchSize);
+        long lineNumber = 0;
+        String line;
+
+        while (true) {
+            line = reader.readLine();
+            if (line != null) {
+                lineNumber++;
+                if (line.isBlank()) continue;
+
+                if (format == Format.CSV && columns == null) {
+                    columns = parseCsvLine(line).stream().map(String::trim).toList();
+                    continue;
+                }
+
+                ImportRowDTO data = format == Format.CSV ? fromCsv(columns, line) : fromJson(line);
+                if (data == null) {
+                    failed++;
+                    processed++;
+                    sink.accept(new ImportErrorDTO(lineNumber, null, "Malformed row"));
+                    continue;
+                }
+                batch.add(new Row(lineNumber, data));
+                if (batch.size() < batchSize) continue;
+            }
+
+            if (!batch.isEmpty()) {
+                int inserted = importBatch(batch, sink);
+                processed += batch.size();
+                imported += inserted;
+                failed += batch.size() - inserted;
+                batch.clear();
+            }
+
+            if (line == null) break;
+            sink.accept(new ImportProgressDTO(processed, imported, failed, false));
+        }
+
+        meterRegistry.counter("auth.import.users", "result", "imported").increment(imported);
+        meterRegistry.counter("auth.import.users", "result", "failed").increment(failed);
+        sink.accept(new ImportProgressDTO(processed, imported, failed, true));
+    }
+
+    /**
+     * Validates, deduplicates, hashes and inserts one batch.
+     *
+     * @return the number of users inserted
+     */
+    private int importBatch(List<Row> batch, Consumer<Object> sink) {
+        List<Row> valid = new ArrayList<>(batch.size());
+        Set<String> emails = new HashSet<>();
+        Set<String> names = new HashSet<>();
+
+        for (Row row : batch) {
+            String error = validate(row.data());
+            // A rejected row must not claim its email or name for a later row of the batch
+            if (error == null && (emails.contains(row.data().email()) || names.contains(row.data().name()))) {
+                error = DUPLICATE;
+            }
+            if (error != null) {
+                sink.accept(new ImportErrorDTO(row.line(), row.data().email(), error));
+            } else {
+                emails.add(row.data().email());
+                names.add(row.data().name());
+                valid.add(row);
+            }
+        }
+        if (valid.isEmpty()) return 0;
+
+        Set<String> takenEmails = new HashSet<>();
+        Set<String> takenNames = new HashSet<>();
+        Query query = new Query(new Criteria().orOperator(
+            Criteria.where("email").in(emails),
+            Criteria.where("name").in(names)
+        ));
+        query.fields().include("email", "name");
+        for (User existing : mongoTemplate.find(query, User.class)) {
+            takenEmails.add(existing.getEmail());
+            takenNames.add(existing.getName());
+        }
+
+        List<Row> pending = new ArrayList<>(valid.size());
+        for (Row row : valid) {
+            if (takenEmails.contains(row.data().email()) || takenNames.contains(row.data().name())) {
+                sink.accept(new ImportErrorDTO(row.line(), row.data().email(), DUPLICATE));
+            } else {
+                pending.add(row);
+            }
+        }
+        if (pending.isEmpty()) return 0;
+
+        List<User> users = hashingPool.submit(() -> pending.parallelStream().map(this::toUser).toList()).join();
+
+        int inserted;
+        try {
+            mongoTemplate.bulkOps(BulkMode.UNORDERED, User.class).insert(users).execute();
+            inserted = users.size();
+        } catch (BulkOperationException e) {
+            // Rows taken by a concurrent signup since the duplicate check
+            for (BulkWriteError error : e.getErrors()) {
+                Row row = pending.get(error.getIndex());
+                sink.accept(new ImportErrorDTO(row.line(), row.data().email(), error.getCode() == 11000 ? DUPLICATE : error.getMessage()));
+            }
+            inserted = users.size() - e.getErrors().size();
+        }
+
+        // Imported emails may be cached as unknown on any node; one message covers the batch
+        userDetailsCache.invalidate(users.stream().map(User::getEmail).toList());
+        return inserted;
+    }
+
+    private String validate(ImportRowDTO data) {
+        Set<ConstraintViolation<ImportRowDTO>> violations = validator.validate(data);
+        if (!violations.isEmpty()) return violations.iterator().next().getMessage();
+
+        if (!BCRYPT_HASH.matcher(data.password()).matches()
+                && (data.password().length() < MIN_PASSWORD || data.password().length() > MAX_PASSWORD)) {
+            return "Password must be between 6 and 30 characters";
+        }
+        if (data.role() != null) {
+            try {
+                UserRole.fromRole(data.role());
+            } catch (IllegalArgumentException e) {
+                return e.getMessage();
+            }
+        }
+        return null;
+    }
+
+    private User toUser(Row row) {
+        ImportRowDTO data = row.data();
+        String password = BCRYPT_HASH.matcher(data.password()).matches() ? data.password() : bcrypt.encode(data.password());
+
+        User user = new User(data.name(), data.email(), password);
+        user.setRole(data.role() != null ? UserRole.fromRole(data.role()) : UserRole.USER);
+        user.setEnabled(data.enabled() == null || data.enabled());
+        return user;
+    }
+
+    private ImportRowDTO fromJson(String line) {
+        try {
+            return objectMapper.readValue(line, ImportRowDTO.class);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    private static ImportRowDTO fromCsv(List<String> columns, String line) {
+        List<String> values = parseCsvLine(line);
+        if (values.size() > columns.size()) return null;
+
+        Map<String, String> fields = new HashMap<>();
+        for (int i = 0; i < values.size(); i++) {
+            String value = values.get(i).trim();
+            if (!value.isEmpty()) fields.put(columns.get(i), value);
+        }
+
+        String enabled = fields.get("enabled");
+        return new ImportRowDTO(
+            fields.get("name"),
+            fields.get("email"),
+            fields.get("password"),
+            fields.get("role"),
+            enabled != null ? Boolean.valueOf(enabled) : null
+        );
+    }
+
+    /**
+     * Splits a CSV line, honouring double-quoted fields and doubled quotes inside them.
+     */
+    static List<String> parseCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        values.add(current.toString());
+        return values;
+    }
+}
@@ -1,46 +1,102 @@
 package com.example.auth_service.services;
 
-import java.util.Optional;
+import java.util.List;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
 import com.example.auth_service.entities.users.User;
 import com.example.auth_service.entities.users.dtos.RabbitRegisterDTO;
-import com.example.auth_service.repositories.UserRepository;
+import com.example.auth_service.infra.audit.AuditEventType;
+import com.example.auth_service.infra.audit.AuditLog;
+import com.example.auth_service.infra.security.TokenEpochCache;
+import com.example.auth_service.infra.security.UserDetailsCache;
+import com.example.auth_service.infra.security.UserStatusCache;
 import com.example.auth_service.services.rabbitmq.RabbitSenderService;
 
 @Service
 public class UserService {
-    
+
+    private static final Logger logger = LoggerFactory.getLogger(UserService.class);
+
     @Autowired
-    private UserRepository userRepository;
+    private MongoTemplate mongoTemplate;
 
     @Autowired
     private RabbitSenderService rabbitSenderService;
 
-    @SuppressWarnings("rawtypes")
-    public ResponseEntity removeUser(String userId){
-        try{
-            Optional<User> optionalUser = userRepository.findById(userId);
-        
-            if (optionalUser.isPresent()) {
-                userRepository.deleteById(userId);
-                System.out.println("Removed User with ID: " + userId);
-                return ResponseEntity.status(HttpStatus.OK).build();
-            } else {
-                return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
-            }
-        }catch(Exception e){
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+    @Autowired
+    private UserStatusCache userStatusCache;
+
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
+    @Autowired
+    private TokenEpochCache tokenEpochCache;
+
+    @Autowired
+    private AuditLog auditLog;
+
+    /**
+     * Stops every node from accepting the tokens of a batch of users, then deletes them in one
+     * bulk operation. The users are deleted last, so a batch that fails halfway can be retried:
+     * the users are still found and every step is repeated. The caches are cleared again after the
+     * delete, because a login or request in between reloads the users while they still exist.
+     *
+     * @param userIds the ids of the users to remove; unknown ids are ignored
+     */
+    public void removeUsers(List<String> userIds){
+        Query query = new Query(Criteria.where("_id").in(userIds));
+        query.fields().include("email");
+
+        List<User> users = mongoTemplate.find(query, User.class);
+        List<String> emails = users.stream().map(User::getEmail).toList();
+
+        userStatusCache.deactivate(emails);
+        userDetailsCache.invalidate(emails);
+        tokenEpochCache.revokeAll(users.stream().map(User::getId).toList());
+
+        mongoTemplate.remove(query, User.class);
+        userStatusCache.deactivate(emails);
+        userDetailsCache.invalidate(emails);
+
+        emails.forEach(email -> auditLog.record(AuditEventType.USER_REMOVED, email, null));
+        logger.info("Removed {} of {} users", emails.size(), userIds.size());
+    }
+
+    /**
+     * Enables a pending account with a single field update.
+     *
+     * @param email the user email
+     * @return the id and name of the enabled user, or null if there is no pending account
+     */
+    public User enableUser(String email) {
+        User user = mongoTemplate.findAndModify(enableQuery(email), enableUpdate(), User.class);
+
+        if (user != null) {
+            userStatusCache.invalidate(email);
+            userDetailsCache.invalidate(email);
         }
+        return user;
     }
 
-    public void sendRegisterMessage(String name){
+    static Query enableQuery(String email) {
+        Query query = new Query(Criteria.where("email").is(email).and("enabled").is(false));
+        query.fields().include("name");
+        return query;
+    }
+
+    static Update enableUpdate() {
+        return new Update().set("enabled", true);
+    }
 
-        String userId = this.userRepository.findByName(name).get().getId();
+    public void sendRegisterMessage(String userId, String name){
 
         RabbitRegisterDTO message = new RabbitRegisterDTO(userId, name);
 
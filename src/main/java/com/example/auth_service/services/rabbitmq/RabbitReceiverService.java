@@ -1,23 +1,124 @@
 package com.example.auth_service.services.rabbitmq;
 
-import lombok.RequiredArgsConstructor;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import com.example.auth_service.services.UserService;
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.Channel;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 
+/**
+ * Consumes user-deletion messages in batches. Each batch is removed with one bulk Mongo operation,
+ * and its messages are acknowledged one by one only after that write succeeds.
+ *
+ * When a batch fails, its users are removed one at a time so a single bad message does not hold
+ * back the others. Messages that still fail are moved to the retry queue, which returns them after
+ * {@code retry-delay-ms}, and after {@code max-attempts} deliveries to the dead queue. Nothing is
+ * requeued straight away, so a failing message cannot turn into a redelivery loop.
+ */
 @Service
-@RequiredArgsConstructor
 public class RabbitReceiverService {
 
+    private static final Logger logger = LoggerFactory.getLogger(RabbitReceiverService.class);
+
+    static final String ATTEMPTS_HEADER = "x-auth-attempts";
+
     @Autowired
     private UserService userService;
 
-    @RabbitListener(queues = "${spring.rabbitmq.queue.auth}")
-    public void receiveMessage(String userId) {
-        userId = userId.replace("\"", "");
-        userService.removeUser(userId);
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${spring.rabbitmq.queue.auth}")
+    private String authQueue;
+
+    @Value("${spring.rabbitmq.user-deletion.max-attempts}")
+    private int maxAttempts;
+
+    @RabbitListener(queues = "${spring.rabbitmq.queue.auth}", containerFactory = "userDeletionListenerContainerFactory")
+    public void receiveMessages(List<Message> messages, Channel channel) throws IOException {
+        List<String> userIds = new ArrayList<>(messages.size());
+        for (Message message : messages) {
+            userIds.add(userIdOf(message.getBody()));
+        }
+
+        meterRegistry.summary("auth.rabbit.user_deletion.batch.size").record(userIds.size());
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            userService.removeUsers(userIds);
+            sample.stop(meterRegistry.timer("auth.rabbit.user_deletion.remove", "outcome", "success"));
+        } catch (Exception e) {
+            sample.stop(meterRegistry.timer("auth.rabbit.user_deletion.remove", "outcome", "failure"));
+            logger.warn("Failed to remove a batch of {} users, removing them one by one", userIds.size(), e);
+            for (int i = 0; i < messages.size(); i++) {
+                removeOne(messages.get(i), userIds.get(i), channel);
+            }
+            return;
+        }
+
+        for (Message message : messages) {
+            channel.basicAck(message.getMessageProperties().getDeliveryTag(), false);
+        }
+    }
+
+    private void removeOne(Message message, String userId, Channel channel) throws IOException {
+        try {
+            userService.removeUsers(List.of(userId));
+        } catch (Exception e) {
+            int attempts = attemptsOf(message) + 1;
+            boolean exhausted = attempts >= maxAttempts;
+            String target = exhausted ? authQueue + ".dead" : authQueue + ".retry";
+
+            if (exhausted) {
+                logger.error("Giving up on removing user {} after {} attempts", userId, attempts, e);
+            } else {
+                logger.warn("Failed to remove user {} (attempt {} of {}), retrying later", userId, attempts, maxAttempts);
+            }
+            meterRegistry.counter("auth.rabbit.user_deletion.failed", "action", exhausted ? "dead" : "retry").increment();
+
+            // Publish the copy before acknowledging, so the message is never lost in between
+            Map<String, Object> headers = new HashMap<>(message.getMessageProperties().getHeaders());
+            headers.put(ATTEMPTS_HEADER, attempts);
+            AMQP.BasicProperties properties = new AMQP.BasicProperties.Builder()
+                .contentType(message.getMessageProperties().getContentType())
+                .deliveryMode(2)
+                .headers(headers)
+                .build();
+            channel.basicPublish("", target, properties, message.getBody());
+        }
+        channel.basicAck(message.getMessageProperties().getDeliveryTag(), false);
+    }
+
+    static int attemptsOf(Message message) {
+        Object attempts = message.getMessageProperties().getHeaders().get(ATTEMPTS_HEADER);
+        return attempts instanceof Number number ? number.intValue() : 0;
+    }
+
+    /**
+     * The upstream service publishes the id as a JSON string, so drop the surrounding quotes.
+     */
+    static String userIdOf(byte[] body) {
+        int start = 0;
+        int end = body.length;
+        if (end - start >= 2 && body[start] == '"' && body[end - 1] == '"') {
+            start++;
+            end--;
+        }
+        return new String(body, start, end - start, StandardCharsets.UTF_8);
     }
 }
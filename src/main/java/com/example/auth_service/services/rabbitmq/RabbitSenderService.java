@@ -1,18 +1,42 @@
 package com.example.auth_service.services.rabbitmq;
 
-import lombok.RequiredArgsConstructor;
-import org.springframework.amqp.core.AmqpTemplate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import com.example.auth_service.entities.users.dtos.RabbitRegisterDTO;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
 
+/**
+ * Publishes registration events in small batches with publisher confirms.
+ *
+ * Callers only enqueue the event. A single publisher thread collects events until the batch is
+ * full or the linger time has passed, then publishes the whole batch on one channel. Confirms are
+ * handled asynchronously: nacked, failed or unconfirmed events are retried with exponential
+ * backoff until {@code max-attempts} is reached, so a short broker outage does not use up every
+ * attempt at once. New and retried events are each capped at {@code max-pending}; past that they
+ * are dropped and counted rather than growing the heap without bound.
+ */
 @Service
-@RequiredArgsConstructor
 public class RabbitSenderService {
 
-    private final AmqpTemplate amqpTemplate;
+    private static final Logger logger = LoggerFactory.getLogger(RabbitSenderService.class);
+
+    private final RabbitTemplate rabbitTemplate;
 
     @Value("${spring.rabbitmq.exchange.app}")
     private String EXCHANGE;
@@ -20,8 +44,178 @@ public class RabbitSenderService {
     @Value("${spring.rabbitmq.routing.key.user}")
     private String ROUTING_KEY;
 
+    private final int batchSize;
+    private final long lingerMillis;
+    private final long confirmTimeoutMillis;
+    private final int maxAttempts;
+    private final long backoffInitialMillis;
+    private final long backoffMaxMillis;
+    private final int maxPending;
+
+    private final BlockingQueue<PendingEvent> pending;
+    private final DelayQueue<PendingEvent> retries = new DelayQueue<>();
+    private final Thread publisher;
+    private volatile boolean running = true;
+
+    private final MeterRegistry meterRegistry;
+
+    private record PendingEvent(RabbitRegisterDTO message, int attempts, long nextAttemptAt) implements Delayed {
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(nextAttemptAt - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(nextAttemptAt, ((PendingEvent) other).nextAttemptAt);
+        }
+    }
+
+    public RabbitSenderService(
+        RabbitTemplate rabbitTemplate,
+        @Value("${spring.rabbitmq.register-events.batch-size}") int batchSize,
+        @Value("${spring.rabbitmq.register-events.linger-ms}") long lingerMillis,
+        @Value("${spring.rabbitmq.register-events.confirm-timeout-ms}") long confirmTimeoutMillis,
+        @Value("${spring.rabbitmq.register-events.max-attempts}") int maxAttempts,
+        @Value("${spring.rabbitmq.register-events.backoff-initial-ms}") long backoffInitialMillis,
+        @Value("${spring.rabbitmq.register-events.backoff-max-ms}") long backoffMaxMillis,
+        @Value("${spring.rabbitmq.register-events.max-pending}") int maxPending,
+        MeterRegistry meterRegistry
+    ) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.batchSize = batchSize;
+        this.lingerMillis = lingerMillis;
+        this.confirmTimeoutMillis = confirmTimeoutMillis;
+        this.maxAttempts = maxAttempts;
+        this.backoffInitialMillis = backoffInitialMillis;
+        this.backoffMaxMillis = backoffMaxMillis;
+        this.maxPending = maxPending;
+        this.pending = new LinkedBlockingQueue<>(maxPending);
+        this.meterRegistry = meterRegistry;
+
+        Gauge.builder("auth.rabbit.register.pending", pending, BlockingQueue::size).register(meterRegistry);
+        Gauge.builder("auth.rabbit.register.retrying", retries, DelayQueue::size).register(meterRegistry);
+
+        this.publisher = new Thread(this::run, "register-events-publisher");
+        this.publisher.setDaemon(true);
+        this.publisher.start();
+    }
+
+    /**
+     * Queues a registration event for publishing. Never blocks on the broker.
+     *
+     * @param message the event to publish
+     */
     public void sendMessage(RabbitRegisterDTO message) {
-        amqpTemplate.convertAndSend(EXCHANGE, ROUTING_KEY, message);
+        if (!pending.offer(new PendingEvent(message, 0, 0))) {
+            meterRegistry.counter("auth.rabbit.register.publish", "outcome", "overflow").increment();
+            logger.error("Dropping registration event for user {}: {} events already pending", message.userId(), maxPending);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        publisher.interrupt();
+        publisher.join(TimeUnit.SECONDS.toMillis(5));
+
+        // Best effort for whatever is still queued
+        List<PendingEvent> remaining = new ArrayList<>(retries);
+        pending.drainTo(remaining);
+        if (!remaining.isEmpty()) publish(remaining);
+    }
+
+    private void run() {
+        List<PendingEvent> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                // Retries whose backoff has passed go first, then new events
+                retries.drainTo(batch, batchSize);
+                if (batch.isEmpty()) {
+                    PendingEvent first = pending.poll(untilNextRetry(), TimeUnit.MILLISECONDS);
+                    if (first == null) continue;
+                    batch.add(first);
+                }
+
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lingerMillis);
+                while (batch.size() < batchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) break;
+                    PendingEvent next = pending.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                    pending.drainTo(batch, batchSize - batch.size());
+                }
+
+                publish(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                retries.addAll(batch);
+                return;
+            } catch (Exception e) {
+                logger.warn("Failed to publish a batch of {} registration events", batch.size(), e);
+                batch.forEach(this::retry);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void publish(List<PendingEvent> batch) {
+        List<CorrelationData> correlations = new ArrayList<>(batch.size());
+        long start = System.nanoTime();
+
+        rabbitTemplate.invoke(operations -> {
+            for (PendingEvent event : batch) {
+                CorrelationData correlation = new CorrelationData(event.message().userId());
+                operations.convertAndSend(EXCHANGE, ROUTING_KEY, event.message(), correlation);
+                correlations.add(correlation);
+            }
+            return null;
+        });
+        meterRegistry.timer("auth.rabbit.register.send").record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        meterRegistry.summary("auth.rabbit.register.batch.size").record(batch.size());
+
+        for (int i = 0; i < batch.size(); i++) {
+            PendingEvent event = batch.get(i);
+            correlations.get(i).getFuture()
+                .orTimeout(confirmTimeoutMillis, TimeUnit.MILLISECONDS)
+                .whenComplete((confirm, error) -> {
+                    boolean acked = error == null && confirm.isAck();
+                    meterRegistry.timer("auth.rabbit.register.confirm", "outcome", acked ? "ack" : "nack")
+                        .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+                    if (acked) {
+                        meterRegistry.counter("auth.rabbit.register.publish", "outcome", "ack").increment();
+                    } else {
+                        String reason = error != null ? error.toString() : confirm.getReason();
+                        logger.debug("Registration event for user {} not confirmed: {}", event.message().userId(), reason);
+                        retry(event);
+                    }
+                });
+        }
     }
 
-}
\ No newline at end of file
+    /**
+     * How long to wait for a new event. Bounded by the shortest backoff, since retries scheduled
+     * by confirm callbacks meanwhile do not wake the publisher.
+     */
+    private long untilNextRetry() {
+        PendingEvent next = retries.peek();
+        long delay = next != null ? next.getDelay(TimeUnit.MILLISECONDS) : backoffInitialMillis;
+        return Math.max(Math.min(delay, backoffInitialMillis), 1);
+    }
+
+    private void retry(PendingEvent event) {
+        int attempts = event.attempts() + 1;
+        if (attempts >= maxAttempts || retries.size() >= maxPending) {
+            meterRegistry.counter("auth.rabbit.register.publish", "outcome", "dropped").increment();
+            logger.error("Dropping registration event for user {} after {} attempts", event.message().userId(), attempts);
+            return;
+        }
+        long backoff = Math.min(backoffMaxMillis, backoffInitialMillis << Math.min(attempts - 1, 20));
+        meterRegistry.counter("auth.rabbit.register.publish", "outcome", "retry").increment();
+        retries.add(new PendingEvent(event.message(), attempts, System.currentTimeMillis() + backoff));
+    }
+}
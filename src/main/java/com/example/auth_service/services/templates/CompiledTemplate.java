@@ -0,0 +1,83 @@
+package com.example.auth_service.services.templates;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Template pre-split into static segments and {{placeholder}} slots. Constants such as branding
+ * are folded into the static segments at compile time, so rendering only appends the segments
+ * and the per-email values.
+ */
+final class CompiledTemplate {
+
+    private final String[] segments;
+    private final String[] variables;
+    private final int staticLength;
+
+    private CompiledTemplate(String[] segments, String[] variables) {
+        this.segments = segments;
+        this.variables = variables;
+
+        int length = 0;
+        for (String segment : segments) length += segment.length();
+        this.staticLength = length;
+    }
+
+    static CompiledTemplate compile(String source, Map<String, String> constants) {
+        List<String> segments = new ArrayList<>();
+        List<String> variables = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+
+        int position = 0;
+        int start;
+        while ((start = source.indexOf("{{", position)) >= 0) {
+            int end = source.indexOf("}}", start);
+            if (end < 0) break;
+
+            current.append(source, position, start);
+            String name = source.substring(start + 2, end).trim();
+            String constant = constants.get(name);
+            if (constant != null) {
+                current.append(constant);
+            } else {
+                segments.add(current.toString());
+                current.setLength(0);
+                variables.add(name);
+            }
+            position = end + 2;
+        }
+        current.append(source, position, source.length());
+        segments.add(current.toString());
+
+        return new CompiledTemplate(segments.toArray(String[]::new), variables.toArray(String[]::new));
+    }
+
+    int staticLength() {
+        return staticLength;
+    }
+
+    void renderInto(StringBuilder buffer, Map<String, String> values) {
+        buffer.append(segments[0]);
+        for (int i = 0; i < variables.length; i++) {
+            appendEscaped(buffer, values.get(variables[i]));
+            buffer.append(segments[i + 1]);
+        }
+    }
+
+    private static void appendEscaped(StringBuilder buffer, String value) {
+        if (value == null) return;
+
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '<' -> buffer.append("&lt;");
+                case '>' -> buffer.append("&gt;");
+                case '&' -> buffer.append("&amp;");
+                case '"' -> buffer.append("&quot;");
+                case '\'' -> buffer.append("&#39;");
+                default -> buffer.append(c);
+            }
+        }
+    }
+}
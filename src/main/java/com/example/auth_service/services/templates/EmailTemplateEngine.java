@@ -0,0 +1,107 @@
+package com.example.auth_service.services.templates;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Renders transactional emails from the templates under {@code templates/email}.
+ *
+ * Each file is named {@code <template>_<language>.html} and starts with a {@code subject:} line
+ * followed by a blank line and the HTML body. Templates are loaded and compiled once at startup;
+ * rendering reuses a per-thread buffer sized for the template, so the only allocation per email
+ * is the resulting string.
+ */
+@Service
+public class EmailTemplateEngine {
+
+    private static final String TEMPLATE_LOCATION = "classpath*:templates/email/*.html";
+    private static final int VALUES_CAPACITY = 256;
+
+    @Value("${email.templates.default-locale}")
+    private String defaultLanguage;
+
+    @Value("${email.brand.name}")
+    private String brandName;
+
+    @Value("${email.brand.color}")
+    private String brandColor;
+
+    @Value("${email.brand.year}")
+    private String brandYear;
+
+    private final Map<String, CompiledTemplate[]> templates = new ConcurrentHashMap<>();
+
+    private final ThreadLocal<StringBuilder> buffers = ThreadLocal.withInitial(StringBuilder::new);
+
+    @PostConstruct
+    public void load() {
+        Map<String, String> constants = Map.of(
+            "brand.name", brandName,
+            "brand.color", brandColor,
+            "brand.year", brandYear
+        );
+
+        try {
+            for (Resource resource : new PathMatchingResourcePatternResolver().getResources(TEMPLATE_LOCATION)) {
+                String filename = resource.getFilename();
+                if (filename == null || !filename.contains("_")) continue;
+
+                String key = filename.substring(0, filename.length() - ".html".length());
+                String source = resource.getContentAsString(StandardCharsets.UTF_8);
+                templates.put(key, compile(source, constants, filename));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not load email templates", e);
+        }
+    }
+
+    /**
+     * Renders a template for the given locale, falling back to the default language.
+     *
+     * @param template the template name, e.g. {@code verification}
+     * @param locale the recipient locale
+     * @param values the values for the template placeholders
+     * @return the rendered subject and body
+     */
+    public RenderedEmail render(String template, Locale locale, Map<String, String> values) {
+        CompiledTemplate[] compiled = templates.get(template + "_" + locale.getLanguage());
+        if (compiled == null) compiled = templates.get(template + "_" + defaultLanguage);
+        if (compiled == null) throw new IllegalArgumentException("Unknown email template: " + template);
+
+        return new RenderedEmail(render(compiled[0], values), render(compiled[1], values));
+    }
+
+    private String render(CompiledTemplate template, Map<String, String> values) {
+        StringBuilder buffer = buffers.get();
+        buffer.setLength(0);
+        buffer.ensureCapacity(template.staticLength() + VALUES_CAPACITY);
+
+        template.renderInto(buffer, values);
+        return buffer.toString();
+    }
+
+    private static CompiledTemplate[] compile(String source, Map<String, String> constants, String filename) {
+        int headerEnd = source.indexOf("\n\n");
+        if (!source.startsWith("subject:") || headerEnd < 0) {
+            throw new IllegalStateException("Email template " + filename + " must start with a subject line");
+        }
+
+        String subject = source.substring("subject:".length(), headerEnd).trim();
+        String body = source.substring(headerEnd + 2);
+        return new CompiledTemplate[] {
+            CompiledTemplate.compile(subject, constants),
+            CompiledTemplate.compile(body, constants)
+        };
+    }
+}
@@ -0,0 +1,4 @@
+package com.example.auth_service.services.templates;
+
+public record RenderedEmail(String subject, String body) {
+}
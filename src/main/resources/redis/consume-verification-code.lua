@@ -0,0 +1,23 @@
+-- Checks a verification code and deletes it when it matches.
+-- KEYS[1] pending code record
+-- ARGV[1] presented code, ARGV[2] current time in epoch ms, ARGV[3] wrong attempts allowed
+-- Returns 1 when the code matched and was consumed, 0 when there is no pending code,
+-- -1 when the code has expired, -2 when it does not match and -3 when it does not match for the
+-- last allowed time, after deleting the code.
+local record = redis.call('HMGET', KEYS[1], 'code', 'expires')
+if not record[1] then
+    return 0
+end
+if tonumber(record[2]) < tonumber(ARGV[2]) then
+    return -1
+end
+if record[1] ~= ARGV[1] then
+    if redis.call('HINCRBY', KEYS[1], 'attempts', 1) >= tonumber(ARGV[3]) then
+        redis.call('DEL', KEYS[1])
+        return -3
+    end
+    return -2
+end
+
+redis.call('DEL', KEYS[1])
+return 1
@@ -0,0 +1,7 @@
+-- Starts a refresh token family.
+-- KEYS[1] family hash, KEYS[2] token record
+-- ARGV[1] ttl in ms, ARGV[2] user id, ARGV[3] email, ARGV[4] role, ARGV[5] token epoch
+redis.call('HSET', KEYS[1], 'user', ARGV[2], 'email', ARGV[3], 'role', ARGV[4], 'epoch', ARGV[5])
+redis.call('PEXPIRE', KEYS[1], ARGV[1])
+redis.call('SET', KEYS[2], 'active', 'PX', ARGV[1])
+return 1
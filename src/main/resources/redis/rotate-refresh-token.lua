@@ -0,0 +1,24 @@
+-- Consumes a refresh token and stores its successor in the same family.
+-- KEYS[1] family hash, KEYS[2] presented token record, KEYS[3] new token record
+-- ARGV[1] ttl in ms
+-- Returns {1, user, email, role, epoch} on success, {0} for unknown, expired or revoked tokens
+-- and {-1} when an already used token is presented again, after revoking the whole family.
+if redis.call('EXISTS', KEYS[1]) == 0 then
+    return {0}
+end
+
+local state = redis.call('GET', KEYS[2])
+if not state then
+    return {0}
+end
+if state == 'used' then
+    redis.call('DEL', KEYS[1])
+    return {-1}
+end
+
+redis.call('SET', KEYS[2], 'used', 'KEEPTTL')
+redis.call('SET', KEYS[3], 'active', 'PX', ARGV[1])
+redis.call('PEXPIRE', KEYS[1], ARGV[1])
+
+local family = redis.call('HMGET', KEYS[1], 'user', 'email', 'role', 'epoch')
+return {1, family[1], family[2], family[3], family[4]}
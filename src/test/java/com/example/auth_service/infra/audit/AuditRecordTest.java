@@ -0,0 +1,86 @@
+package com.example.auth_service.infra.audit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+
+import org.junit.jupiter.api.Test;
+
+class AuditRecordTest {
+
+    @Test
+    void decodesWhatWasEncoded() {
+        ByteBuffer buffer = ByteBuffer.allocate(AuditRecord.SIZE * 2);
+
+        AuditRecord.encode(buffer, AuditRecord.SIZE, 1_700_000_000_123L, AuditEventType.LOGIN_FAILED, "j\u00fcrgen@example.com", "10.0.0.7");
+
+        assertEquals(
+            new AuditRecord(1_700_000_000_123L, AuditEventType.LOGIN_FAILED, "j\u00fcrgen@example.com", "10.0.0.7"),
+            AuditRecord.decode(buffer, AuditRecord.SIZE)
+        );
+    }
+
+    @Test
+    void encodeLeavesThePositionUntouched() {
+        ByteBuffer buffer = ByteBuffer.allocate(AuditRecord.SIZE);
+
+        AuditRecord.encode(buffer, 0, 1L, AuditEventType.LOGIN, "user@example.com", "127.0.0.1");
+
+        assertEquals(0, buffer.position());
+    }
+
+    @Test
+    void truncatesLongSubjectsAndAddresses() {
+        ByteBuffer buffer = ByteBuffer.allocate(AuditRecord.SIZE);
+        String subject = "s".repeat(AuditRecord.MAX_SUBJECT + 50);
+        String address = "a".repeat(AuditRecord.MAX_ADDRESS + 10);
+
+        AuditRecord.encode(buffer, 0, 1L, AuditEventType.LOGOUT, subject, address);
+        AuditRecord record = AuditRecord.decode(buffer, 0);
+
+        assertEquals(subject.substring(0, AuditRecord.MAX_SUBJECT), record.subject());
+        assertEquals(address.substring(0, AuditRecord.MAX_ADDRESS), record.address());
+    }
+
+    @Test
+    void truncationStaysInsideTheRecord() {
+        ByteBuffer buffer = ByteBuffer.allocate(AuditRecord.SIZE * 2);
+
+        AuditRecord.encode(buffer, 0, 1L, AuditEventType.LOGOUT, "s".repeat(1000), "a".repeat(1000));
+
+        assertNull(AuditRecord.decode(buffer, AuditRecord.SIZE));
+        for (int i = AuditRecord.SIZE; i < buffer.capacity(); i++) {
+            assertEquals(0, buffer.get(i));
+        }
+    }
+
+    @Test
+    void encodesMissingFieldsAsEmpty() {
+        ByteBuffer buffer = ByteBuffer.allocate(AuditRecord.SIZE);
+
+        AuditRecord.encode(buffer, 0, 1L, AuditEventType.LOGOUT_ALL, null, null);
+        AuditRecord record = AuditRecord.decode(buffer, 0);
+
+        assertEquals("", record.subject());
+        assertEquals("", record.address());
+    }
+
+    @Test
+    void decodesAnUnwrittenSlotAsNull() {
+        assertNull(AuditRecord.decode(ByteBuffer.allocate(AuditRecord.SIZE), 0));
+    }
+
+    @Test
+    void decodesAnUnknownTypeCodeWithoutFailing() {
+        ByteBuffer buffer = ByteBuffer.allocate(AuditRecord.SIZE);
+        AuditRecord.encode(buffer, 0, 0L, AuditEventType.LOGIN, "user@example.com", "127.0.0.1");
+        buffer.put(AuditRecord.TYPE, (byte) 99);
+
+        AuditRecord record = AuditRecord.decode(buffer, 0);
+
+        assertNull(record.type());
+        assertTrue(record.format().contains("\tUNKNOWN\t"));
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.auth_service.infra.audit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class AuditRingBufferTest {
+
+    @Test
+    void rejectsACapacityThatIsNotAPowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new AuditRingBuffer(6));
+    }
+
+    @Test
+    void drainsRecordsInTheOrderTheyWereOffered() {
+        AuditRingBuffer ring = new AuditRingBuffer(8);
+        for (int i = 0; i < 5; i++) {
+            assertTrue(ring.offer(i, AuditEventType.LOGIN, "user" + i + "@example.com", "10.0.0." + i));
+        }
+
+        List<AuditRecord> records = drain(ring, 8);
+
+        assertEquals(5, records.size());
+        for (int i = 0; i < 5; i++) {
+            assertEquals(new AuditRecord(i, AuditEventType.LOGIN, "user" + i + "@example.com", "10.0.0." + i), records.get(i));
+        }
+        assertEquals(0, ring.backlog());
+    }
+
+    @Test
+    void drainsAtMostTheRequestedNumberOfRecords() {
+        AuditRingBuffer ring = new AuditRingBuffer(8);
+        for (int i = 0; i < 3; i++) ring.offer(i, AuditEventType.LOGOUT, "user@example.com", "");
+
+        List<AuditRecord> first = drain(ring, 2);
+        assertEquals(2, first.size());
+        assertEquals(1, ring.backlog());
+
+        List<AuditRecord> rest = drain(ring, 2);
+        assertEquals(1, rest.size());
+        assertEquals(2, rest.get(0).timestamp());
+    }
+
+    @Test
+    void dropsRecordsWhenFullAndAcceptsThemAgainOnceDrained() {
+        AuditRingBuffer ring = new AuditRingBuffer(4);
+        for (int i = 0; i < 4; i++) assertTrue(ring.offer(i, AuditEventType.LOGIN, "user@example.com", ""));
+
+        assertFalse(ring.offer(4, AuditEventType.LOGIN, "dropped@example.com", ""));
+        assertEquals(4, ring.backlog());
+
+        assertEquals(4, drain(ring, 4).size());
+        for (int i = 5; i < 9; i++) assertTrue(ring.offer(i, AuditEventType.LOGIN, "user@example.com", ""));
+
+        List<AuditRecord> secondLap = drain(ring, 8);
+        assertEquals(4, secondLap.size());
+        assertEquals(5, secondLap.get(0).timestamp());
+        assertEquals(8, secondLap.get(3).timestamp());
+    }
+
+    @Test
+    void keepsEachProducersRecordsInOrderUnderContention() throws InterruptedException {
+        int producers = 4;
+        int perProducer = 20_000;
+        AuditRingBuffer ring = new AuditRingBuffer(256);
+        AtomicInteger dropped = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(producers);
+
+        for (int p = 0; p < producers; p++) {
+            String subject = "producer-" + p;
+            new Thread(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < perProducer; i++) {
+                        if (!ring.offer(i, AuditEventType.LOGIN, subject, "")) dropped.incrementAndGet();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            }).start();
+        }
+
+        long[] lastSeen = {-1, -1, -1, -1};
+        int drained = 0;
+        start.countDown();
+        while (done.getCount() > 0 || ring.backlog() > 0) {
+            for (AuditRecord record : drain(ring, 64)) {
+                int producer = Integer.parseInt(record.subject().substring("producer-".length()));
+                assertTrue(record.timestamp() > lastSeen[producer], "records of one producer out of order");
+                lastSeen[producer] = record.timestamp();
+                drained++;
+            }
+        }
+
+        assertEquals(producers * perProducer, drained + dropped.get());
+    }
+
+    private static List<AuditRecord> drain(AuditRingBuffer ring, int maxRecords) {
+        ByteBuffer target = ByteBuffer.allocate(maxRecords * AuditRecord.SIZE);
+        int count = ring.drainTo(target, maxRecords);
+
+        List<AuditRecord> records = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) records.add(AuditRecord.decode(target, i * AuditRecord.SIZE));
+        return records;
+    }
+}
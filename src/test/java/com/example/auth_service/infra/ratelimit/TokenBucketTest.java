@@ -0,0 +1,97 @@
+package com.example.auth_service.infra.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class TokenBucketTest {
+
+    private static final long START_NANOS = TimeUnit.SECONDS.toNanos(1_000);
+    private static final long START_MILLIS = 1_700_000_000_000L;
+
+    /**
+     * 10 requests per second: one token every 100 ms.
+     */
+    private final TokenBucket bucket = new TokenBucket(10, 1_000);
+
+    @Test
+    void allowsABurstUpToCapacity() {
+        for (int i = 0; i < 10; i++) assertTrue(acquireAt(0));
+
+        assertFalse(acquireAt(0));
+    }
+
+    @Test
+    void refillsOneTokenPerEmissionInterval() {
+        for (int i = 0; i < 10; i++) acquireAt(0);
+
+        assertFalse(acquireAt(99));
+        assertTrue(acquireAt(100));
+        assertFalse(acquireAt(100));
+        assertTrue(acquireAt(200));
+    }
+
+    @Test
+    void rejectedRequestsDoNotConsumeTokens() {
+        for (int i = 0; i < 10; i++) acquireAt(0);
+        for (int i = 0; i < 100; i++) acquireAt(50);
+
+        assertTrue(acquireAt(100));
+    }
+
+    @Test
+    void refillsCompletelyAfterAWindowButNeverBeyondCapacity() {
+        for (int i = 0; i < 10; i++) acquireAt(0);
+
+        for (int i = 0; i < 10; i++) assertTrue(acquireAt(60_000));
+        assertFalse(acquireAt(60_000));
+    }
+
+    @Test
+    void sustainsTheConfiguredRate() {
+        int accepted = 0;
+        for (long millis = 0; millis < 10_000; millis += 10) {
+            if (acquireAt(millis)) accepted++;
+        }
+
+        // The burst of 10, then one more every 100 ms up to the last request at 9990 ms
+        assertEquals(10 + 99, accepted);
+    }
+
+    @Test
+    void rejectsEverythingWhileBlocked() {
+        bucket.blockUntil(START_MILLIS + 500);
+
+        assertFalse(acquireAt(0));
+        assertFalse(acquireAt(499));
+        assertTrue(acquireAt(500));
+    }
+
+    @Test
+    void countsAcceptedRequestsUntilDrained() {
+        for (int i = 0; i < 12; i++) acquireAt(0);
+
+        assertEquals(10, bucket.drainUnsynced());
+        assertEquals(0, bucket.drainUnsynced());
+    }
+
+    @Test
+    void isIdleOnlyOnceSyncedAndUnused() {
+        long idle = TimeUnit.SECONDS.toNanos(1);
+        acquireAt(0);
+
+        assertFalse(bucket.isIdle(START_NANOS + 2 * idle, idle));
+
+        bucket.drainUnsynced();
+        assertFalse(bucket.isIdle(START_NANOS + idle / 2, idle));
+        assertTrue(bucket.isIdle(START_NANOS + 2 * idle, idle));
+    }
+
+    private boolean acquireAt(long elapsedMillis) {
+        return bucket.tryAcquire(START_NANOS + TimeUnit.MILLISECONDS.toNanos(elapsedMillis), START_MILLIS + elapsedMillis);
+    }
+}
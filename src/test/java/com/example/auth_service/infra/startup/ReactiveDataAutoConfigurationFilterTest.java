@@ -0,0 +1,40 @@
+package com.example.auth_service.infra.startup;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+class ReactiveDataAutoConfigurationFilterTest {
+
+    private static final String[] CANDIDATES = {
+        "org.springframework.boot.autoconfigure.mongo.MongoAutoConfiguration",
+        "org.springframework.boot.autoconfigure.mongo.MongoReactiveAutoConfiguration",
+        null,
+        "org.springframework.boot.autoconfigure.data.redis.RedisReactiveAutoConfiguration"
+    };
+
+    @Test
+    void skipsReactiveDataAutoConfigurationOnServletNodes() {
+        assertArrayEquals(new boolean[] {true, false, true, false}, match("servlet"));
+    }
+
+    @Test
+    void skipsReactiveDataAutoConfigurationWhenTheStackIsNotSet() {
+        assertArrayEquals(new boolean[] {true, false, true, false}, match(null));
+    }
+
+    @Test
+    void keepsEverythingOnReactiveNodes() {
+        assertArrayEquals(new boolean[] {true, true, true, true}, match("REACTIVE"));
+    }
+
+    private static boolean[] match(String webApplicationType) {
+        MockEnvironment environment = new MockEnvironment();
+        if (webApplicationType != null) environment.setProperty("spring.main.web-application-type", webApplicationType);
+
+        ReactiveDataAutoConfigurationFilter filter = new ReactiveDataAutoConfigurationFilter();
+        filter.setEnvironment(environment);
+        return filter.match(CANDIDATES, null);
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.auth_service.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class UserImportServiceTest {
+
+    @Test
+    void splitsUnquotedFields() {
+        assertEquals(List.of("ana", "ana@example.com", "secret"), UserImportService.parseCsvLine("ana,ana@example.com,secret"));
+    }
+
+    @Test
+    void keepsEmptyFields() {
+        assertEquals(List.of("ana", "", "secret", ""), UserImportService.parseCsvLine("ana,,secret,"));
+        assertEquals(List.of(""), UserImportService.parseCsvLine(""));
+    }
+
+    @Test
+    void keepsCommasInsideQuotedFields() {
+        assertEquals(List.of("Smith, Ana", "ana@example.com"), UserImportService.parseCsvLine("\"Smith, Ana\",ana@example.com"));
+    }
+
+    @Test
+    void unescapesDoubledQuotesInsideQuotedFields() {
+        assertEquals(List.of("a \"quoted\" word", "x"), UserImportService.parseCsvLine("\"a \"\"quoted\"\" word\",x"));
+        assertEquals(List.of("\""), UserImportService.parseCsvLine("\"\"\"\""));
+    }
+
+    @Test
+    void readsAnEmptyQuotedFieldAsEmpty() {
+        assertEquals(List.of("", "ana"), UserImportService.parseCsvLine("\"\",ana"));
+    }
+
+    @Test
+    void keepsWhitespaceForTheCallerToTrim() {
+        assertEquals(List.of(" ana ", " \" b \" "), UserImportService.parseCsvLine(" ana ,\" \"\" b \"\" \""));
+    }
+}